@@ -0,0 +1,533 @@
+package core;
+
+import dataStructure.index.PostingList;
+import dataStructure.index.Tokenizer;
+import models.Book;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * BookQuery - Composable filter over Book fields (predicate tree).
+ *
+ * PURPOSE: Combine search criteria, e.g. author AND category AND available AND year range.
+ * Executed by LibrarySystem.search(query); LibrarySystem.explain(query) shows the plan.
+ *
+ * Leaves are single-field predicates created by the static factories below; and()/or()
+ * combine them. Every node can test a Book directly. Leaves whose field has an index in
+ * LibrarySystem can additionally estimate their result size and produce candidate IDs,
+ * which QueryPlanner uses to avoid scanning the catalog. Queries hold no index state,
+ * so one query object can be run again after the catalog changes.
+ *
+ * Example:
+ * BookQuery.and(BookQuery.author("tolkien"), BookQuery.category("Fantasy"),
+ *               BookQuery.yearBetween(1930, 1960), BookQuery.available())
+ */
+public abstract class BookQuery {
+
+    /**
+     * Returned by estimate() for predicates without an index.
+     */
+    static final int NOT_INDEXED = -1;
+
+    /**
+     * @return true if book satisfies this predicate
+     */
+    public abstract boolean test(Book book);
+
+    /**
+     * Human-readable form, used by explain().
+     */
+    @Override
+    public abstract String toString();
+
+    /**
+     * Estimated result size from the index, or NOT_INDEXED. Should be cheap.
+     */
+    int estimate(LibrarySystem library) {
+        return NOT_INDEXED;
+    }
+
+    /**
+     * True if estimating costs as much as the lookup itself (e.g. a union of token
+     * postings); the planner then calls candidates() once and uses its size instead.
+     */
+    boolean estimateIsLookup() {
+        return false;
+    }
+
+    /**
+     * Candidate IDs from the index: every matching book is included (may contain extras).
+     * Only called for indexed predicates; null means the index cannot serve this query.
+     */
+    PostingList candidates(LibrarySystem library) {
+        return null;
+    }
+
+    /**
+     * Name of the index used, for explain().
+     */
+    String indexName() {
+        return "no index";
+    }
+
+    // ---------------- Factories ----------------
+
+    public static BookQuery titlePrefix(String prefix) {
+        return new TitlePrefix(prefix);
+    }
+
+    /**
+     * Every word of name must start a word of the author (same rule as searchByAuthor).
+     */
+    public static BookQuery author(String name) {
+        return new Author(name);
+    }
+
+    public static BookQuery category(String category) {
+        return new Category(category);
+    }
+
+    public static BookQuery isbn(String isbn) {
+        return new Isbn(isbn);
+    }
+
+    /**
+     * Title, author, ISBN or category contains text (case-insensitive).
+     */
+    public static BookQuery contains(String text) {
+        return new Contains(text);
+    }
+
+    /**
+     * Title contains text (case-insensitive).
+     */
+    public static BookQuery titleContains(String text) {
+        return new FieldContains("title", Book::getTitle, text);
+    }
+
+    /**
+     * Author contains text (case-insensitive).
+     */
+    public static BookQuery authorContains(String text) {
+        return new FieldContains("author", Book::getAuthor, text);
+    }
+
+    public static BookQuery yearBetween(int fromYear, int toYear) {
+        return new YearRange(fromYear, toYear);
+    }
+
+    public static BookQuery pagesBetween(int minPages, int maxPages) {
+        return new PageRange(minPages, maxPages);
+    }
+
+    /**
+     * At least one copy can be borrowed now. Not indexed: availability changes on every loan.
+     */
+    public static BookQuery available() {
+        return new Available();
+    }
+
+    public static BookQuery and(BookQuery... parts) {
+        return new And(parts);
+    }
+
+    public static BookQuery or(BookQuery... parts) {
+        return new Or(parts);
+    }
+
+    // ---------------- Composite nodes ----------------
+
+    static final class And extends BookQuery {
+        final BookQuery[] parts;
+
+        And(BookQuery[] parts) {
+            this.parts = checkParts(parts, "and");
+        }
+
+        @Override
+        public boolean test(Book book) {
+            for (BookQuery part : parts) {
+                if (!part.test(book)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return join(parts, " AND ");
+        }
+    }
+
+    static final class Or extends BookQuery {
+        final BookQuery[] parts;
+
+        Or(BookQuery[] parts) {
+            this.parts = checkParts(parts, "or");
+        }
+
+        @Override
+        public boolean test(Book book) {
+            for (BookQuery part : parts) {
+                if (part.test(book)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return join(parts, " OR ");
+        }
+    }
+
+    // ---------------- Leaves ----------------
+
+    private static final class TitlePrefix extends BookQuery {
+        private final String prefix;
+
+        TitlePrefix(String prefix) {
+            this.prefix = normalize(prefix);
+        }
+
+        @Override
+        public boolean test(Book book) {
+            return normalize(book.getTitle()).startsWith(prefix);
+        }
+
+        @Override
+        int estimate(LibrarySystem library) {
+            return library.countTitlePrefix(prefix);
+        }
+
+        @Override
+        PostingList candidates(LibrarySystem library) {
+            return library.titlePrefixIds(prefix);
+        }
+
+        @Override
+        String indexName() {
+            return "title order tree";
+        }
+
+        @Override
+        public String toString() {
+            return "title starts with '" + prefix + "'";
+        }
+    }
+
+    private static final class Author extends BookQuery {
+        private final String name;
+        private final List<String> tokens;
+
+        Author(String name) {
+            this.name = name == null ? "" : name.trim();
+            this.tokens = Tokenizer.tokenize(name);
+        }
+
+        @Override
+        public boolean test(Book book) {
+            List<String> authorTokens = Tokenizer.tokenize(book.getAuthor());
+            for (String token : tokens) {
+                boolean found = false;
+                for (String authorToken : authorTokens) {
+                    if (authorToken.startsWith(token)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) return false;
+            }
+            return !tokens.isEmpty();
+        }
+
+        @Override
+        int estimate(LibrarySystem library) {
+            return candidates(library).size();
+        }
+
+        @Override
+        boolean estimateIsLookup() {
+            return true;
+        }
+
+        @Override
+        PostingList candidates(LibrarySystem library) {
+            return library.authorIds(name);
+        }
+
+        @Override
+        String indexName() {
+            return "author token trie";
+        }
+
+        @Override
+        public String toString() {
+            return "author ~ '" + name + "'";
+        }
+    }
+
+    private static final class Category extends BookQuery {
+        private final String category;
+
+        Category(String category) {
+            this.category = category == null ? "" : category.trim();
+        }
+
+        @Override
+        public boolean test(Book book) {
+            return book.getCategory() != null && book.getCategory().trim().equalsIgnoreCase(category);
+        }
+
+        @Override
+        int estimate(LibrarySystem library) {
+            return library.countByCategory(category);
+        }
+
+        @Override
+        PostingList candidates(LibrarySystem library) {
+            return library.categoryIds(category);
+        }
+
+        @Override
+        String indexName() {
+            return "category facet";
+        }
+
+        @Override
+        public String toString() {
+            return "category = '" + category + "'";
+        }
+    }
+
+    private static final class Isbn extends BookQuery {
+        private final String isbn;
+        private final String key;
+
+        Isbn(String isbn) {
+            this.isbn = isbn;
+            this.key = Book.normalizeIsbn(isbn);
+        }
+
+        @Override
+        public boolean test(Book book) {
+            return key != null && key.equals(Book.normalizeIsbn(book.getIsbn()));
+        }
+
+        @Override
+        int estimate(LibrarySystem library) {
+            return library.searchByIsbn(isbn) == null ? 0 : 1;
+        }
+
+        @Override
+        PostingList candidates(LibrarySystem library) {
+            PostingList ids = new PostingList();
+            Book book = library.searchByIsbn(isbn);
+            if (book != null) ids.add(book.getBookId());
+            return ids;
+        }
+
+        @Override
+        String indexName() {
+            return "ISBN hash index";
+        }
+
+        @Override
+        public String toString() {
+            return "isbn = '" + isbn + "'";
+        }
+    }
+
+    private static final class Contains extends BookQuery {
+        private final String text;
+
+        Contains(String text) {
+            this.text = text == null ? "" : text.toLowerCase();
+        }
+
+        @Override
+        public boolean test(Book book) {
+            return book.matches(text);
+        }
+
+        @Override
+        int estimate(LibrarySystem library) {
+            PostingList ids = candidates(library);
+            return ids == null ? NOT_INDEXED : ids.size();
+        }
+
+        @Override
+        boolean estimateIsLookup() {
+            return true;
+        }
+
+        /**
+         * null when text is too short for trigrams.
+         */
+        @Override
+        PostingList candidates(LibrarySystem library) {
+            return library.substringIds(text);
+        }
+
+        @Override
+        String indexName() {
+            return "trigram index";
+        }
+
+        @Override
+        public String toString() {
+            return "any field contains '" + text + "'";
+        }
+    }
+
+    /**
+     * Substring test on one field. The trigram index covers all fields together, so its
+     * candidates are a superset that test() narrows down.
+     */
+    private static final class FieldContains extends BookQuery {
+        private final String field;
+        private final Function<Book, String> getter;
+        private final String text;
+
+        FieldContains(String field, Function<Book, String> getter, String text) {
+            this.field = field;
+            this.getter = getter;
+            this.text = text == null ? "" : text.toLowerCase();
+        }
+
+        @Override
+        public boolean test(Book book) {
+            String value = getter.apply(book);
+            return value != null && value.toLowerCase().contains(text);
+        }
+
+        @Override
+        int estimate(LibrarySystem library) {
+            PostingList ids = candidates(library);
+            return ids == null ? NOT_INDEXED : ids.size();
+        }
+
+        @Override
+        boolean estimateIsLookup() {
+            return true;
+        }
+
+        /**
+         * null when text is too short for trigrams.
+         */
+        @Override
+        PostingList candidates(LibrarySystem library) {
+            return library.substringIds(text);
+        }
+
+        @Override
+        String indexName() {
+            return "trigram index";
+        }
+
+        @Override
+        public String toString() {
+            return field + " contains '" + text + "'";
+        }
+    }
+
+    private static final class YearRange extends BookQuery {
+        private final int from, to;
+
+        YearRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean test(Book book) {
+            return book.getPublishYear() >= from && book.getPublishYear() <= to;
+        }
+
+        @Override
+        int estimate(LibrarySystem library) {
+            return library.countYearRange(from, to);
+        }
+
+        @Override
+        PostingList candidates(LibrarySystem library) {
+            return library.yearRangeIds(from, to);
+        }
+
+        @Override
+        String indexName() {
+            return "year range index";
+        }
+
+        @Override
+        public String toString() {
+            return "year in [" + from + ", " + to + "]";
+        }
+    }
+
+    private static final class PageRange extends BookQuery {
+        private final int min, max;
+
+        PageRange(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean test(Book book) {
+            return book.getPageCount() >= min && book.getPageCount() <= max;
+        }
+
+        @Override
+        int estimate(LibrarySystem library) {
+            return library.countPageCountRange(min, max);
+        }
+
+        @Override
+        PostingList candidates(LibrarySystem library) {
+            return library.pageCountRangeIds(min, max);
+        }
+
+        @Override
+        String indexName() {
+            return "page count range index";
+        }
+
+        @Override
+        public String toString() {
+            return "pages in [" + min + ", " + max + "]";
+        }
+    }
+
+    private static final class Available extends BookQuery {
+        @Override
+        public boolean test(Book book) {
+            return book.canBeBorrowed();
+        }
+
+        @Override
+        public String toString() {
+            return "available";
+        }
+    }
+
+    private static BookQuery[] checkParts(BookQuery[] parts, String op) {
+        if (parts == null || parts.length == 0) throw new IllegalArgumentException(op + "() needs at least one query");
+        for (BookQuery part : parts) {
+            if (part == null) throw new IllegalArgumentException(op + "() parts cannot be null");
+        }
+        return parts.clone();
+    }
+
+    private static String join(BookQuery[] parts, String op) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append(op);
+            sb.append(parts[i]);
+        }
+        return sb.append(")").toString();
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase().trim();
+    }
+}
@@ -1,33 +1,66 @@
 package core;
 
+import dataStructure.hashtable.BloomFilter;
+import dataStructure.hashtable.ConcurrentHashTable;
+import dataStructure.hashtable.HashStrategy;
 import dataStructure.hashtable.HashTable;
+import dataStructure.hashtable.HashTableAnalyzer;
+import dataStructure.hashtable.IntHashTable;
+import dataStructure.hashtable.LRUCache;
+import dataStructure.hashtable.MultiplyShiftHashStrategy;
+import dataStructure.hashtable.MurmurMaskHashStrategy;
+import dataStructure.hashtable.SaltedPrimeHashStrategy;
 import dataStructure.linkedList.MyLinkedList;
 import dataStructure.heap.MaxHeap;
+import dataStructure.index.BKTree;
+import dataStructure.index.BM25Index;
+import dataStructure.index.FacetIndex;
+import dataStructure.index.PostingList;
+import dataStructure.index.RangeIndex;
+import dataStructure.index.TokenTrie;
+import dataStructure.index.Tokenizer;
+import dataStructure.index.TrigramIndex;
 import dataStructure.queue.MyQueue;
+import dataStructure.tree.BST;
 import dataStructure.tree.TitleBST;
+import dataStructure.trie.TitleTrie;
 import models.Book;
 import models.Member;
 import models.LoanRecord;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 import java.util.Random;
+import java.util.function.Supplier;
 
 /**
  * LibrarySystem - Main system class that manages all library operations.
  * 
  * DATA STRUCTURES USED (as per project requirements):
- * 1. HashTable<Integer, Book> bookTable - O(1) average lookup by book ID
- * 2. HashTable<Integer, Member> memberTable - O(1) average lookup by member ID
+ * 1. IntHashTable<Book> bookTable - O(1) average lookup by book ID (open addressing, int keys)
+ * 2. IntHashTable<Member> memberTable - O(1) average lookup by member ID (open addressing, int keys)
  * 3. MyLinkedList<LoanRecord> loanHistory - Dynamic list for loan history tracking
  * 4. MaxHeap<Book> popularityHeap - O(log n) insert, O(k log n) for top-K popular books
  * 5. TitleBST titleIndex - O(log n) search by title prefix
+ *    TitleTrie titleTrie - O(prefix + k) popularity-ranked title suggestions
+ *    BST<Integer> idOrder, BST<TitleKey> titleOrder - O(log n + page) sorted catalog pages
+ *    TokenTrie authorIndex - author token (prefix) -> book IDs
+ *    TrigramIndex substringIndex - substring search over title/author/isbn/category
+ *    HashTable<String, Integer> isbnIndex + BloomFilter isbnFilter - ISBN lookup, duplicate check
+ *    FacetIndex categoryIndex - books per category and live category counts
+ *    RangeIndex yearIndex, pageCountIndex - O(log n + m) numeric range filters
+ *    BKTree titleWords, authorWords - typo-tolerant (edit distance) word lookup
+ *    TokenTrie memberNameIndex - member name token (prefix) -> member IDs
+ *    LRUCache<String, CachedSearch> searchCache - recent title/author/any-field results and first title pages
+ *    BM25Index rankedIndex - relevance-ranked top-k search over title/author/category
+ *    (search(BookQuery) combines all of these through QueryPlanner)
  * 6. MyQueue<Member> waitList (inside Book) - FIFO for fair waitlist management
  * 7. MyStack<UndoAction> (in UndoManager) - LIFO for undo operations
  * 
  * COMPLEXITY ANALYSIS:
- * - Search by ID: O(1) average (HashTable)
+ * - Search by ID: O(1) average (IntHashTable, no key boxing)
  * - Search by Title: O(log n) average (BST)
  * - Add Book/Member: O(1) average (HashTable) + O(log n) for heap/BST
  * - Borrow/Return: O(1) average (HashTable lookup) + O(log n) heap update
@@ -51,18 +84,30 @@ public class LibrarySystem {
     private static final Random RANDOM_GEN = new Random(STUDENT_ID);
 
     /**
-     * DATA STRUCTURE 1: HashTable for Books
+     * DATA STRUCTURE 1: IntHashTable for Books
      * Purpose: Fast O(1) average lookup by book ID
-     * Why: Books are frequently accessed by unique ID. HashTable provides optimal performance.
+     * Why: Books are frequently accessed by unique ID. The int-specialized table avoids
+     * boxing the ID and allocating a node per entry, which dominates on large catalogs.
      */
-    private HashTable<Integer, Book> bookTable;
+    private IntHashTable<Book> bookTable;
     
     /**
-     * DATA STRUCTURE 2: HashTable for Members
+     * DATA STRUCTURE 2: IntHashTable for Members
      * Purpose: Fast O(1) average lookup by member ID
-     * Why: Members are frequently accessed by unique ID. HashTable provides optimal performance.
+     * Why: Members are frequently accessed by unique ID. Same int-keyed layout as bookTable.
      */
-    private HashTable<Integer, Member> memberTable;
+    private IntHashTable<Member> memberTable;
+
+    /**
+     * Concurrent ID read path (optional, see the three-argument constructor)
+     * Purpose: searchById / getBook / getMember from many threads at once
+     * Why: IntHashTable.get must not run concurrently with anything (it also advances an
+     * incremental resize). These lock-striped tables mirror bookTable and memberTable and
+     * serve those reads lock-free, so ID lookups scale with cores. Writes still come from
+     * one thread at a time and update both tables. null when disabled.
+     */
+    private final ConcurrentHashTable<Integer, Book> concurrentBooks;
+    private final ConcurrentHashTable<Integer, Member> concurrentMembers;
     
     /**
      * DATA STRUCTURE 3: LinkedList for Loan History
@@ -85,6 +130,169 @@ public class LibrarySystem {
      */
     private TitleBST titleIndex;
 
+    /**
+     * Radix trie for title autocomplete
+     * Purpose: Suggest the most popular titles for a typed prefix
+     * Why: Each trie node caches its subtree's top books, so a keystroke costs O(prefix + k)
+     * instead of collecting and sorting every match.
+     */
+    private TitleTrie titleTrie;
+
+    /**
+     * Order-statistic trees for sorted catalog listings
+     * Purpose: "page N of books sorted by ID / title"
+     * Why: Subtree sizes give select(i) in O(log n), so any page is reached without
+     * walking the books before it.
+     */
+    private BST<Integer> idOrder;
+    private BST<TitleKey> titleOrder;
+
+    /**
+     * Inverted author index
+     * Purpose: Author search without scanning the catalog
+     * Why: Maps each normalized author name token to the sorted IDs of its books; a query
+     * token matches every indexed token it is a prefix of.
+     */
+    private TokenTrie authorIndex;
+
+    /**
+     * Trigram index for substring search
+     * Purpose: "any field contains q" without lowercasing and scanning every book
+     * Why: Intersecting the posting lists of q's trigrams yields a small candidate set;
+     * only those candidates are checked with Book.matches.
+     */
+    private TrigramIndex substringIndex;
+
+    /**
+     * ISBN index
+     * Purpose: O(1) lookup by ISBN and rejection of duplicate ISBNs in addBook
+     * Why: Keys are Book.normalizeIsbn() values, so hyphenation, case and ISBN-10 vs
+     * ISBN-13 spellings of one ISBN share a key. The Bloom filter in front of the table
+     * answers "definitely new" for most imported ISBNs without a table lookup.
+     */
+    private HashTable<String, Integer> isbnIndex;
+    private BloomFilter isbnFilter;
+
+    /**
+     * Category facet index
+     * Purpose: "books in Fantasy" and per-category counts for the catalog sidebar
+     * Why: Sorted ID list per category; filtering costs O(result size) and a count is O(1).
+     */
+    private FacetIndex categoryIndex;
+
+    /**
+     * Range indexes on numeric fields
+     * Purpose: "published 1990-2000", "under 200 pages" without a scan
+     * Why: Sorted (value, id) arrays; a range is two binary searches plus its results.
+     */
+    private RangeIndex yearIndex;
+    private RangeIndex pageCountIndex;
+
+    /**
+     * BK-trees of title and author words
+     * Purpose: Fuzzy search for misspelled queries ("Fahrenhiet", "Dostoyevsky")
+     * Why: Only words within edit distance k of the query word are visited, instead of
+     * computing an edit distance against every book.
+     */
+    private BKTree titleWords;
+    private BKTree authorWords;
+
+    /**
+     * Inverted member name index
+     * Purpose: Front-desk lookup of members by (partial) name
+     * Why: Same token trie as authorIndex; a lookup touches only the matching names instead
+     * of copying and scanning every member. Kept current through Member.NameListener.
+     */
+    private TokenTrie memberNameIndex;
+    private final Member.NameListener memberRenamed = this::memberRenamed;
+
+    /**
+     * Search result cache
+     * Purpose: Kiosks repeat the same title/author/any-field searches
+     * Why: LRU over normalized (search type, query) keys. Each entry keeps the query as a
+     * BookQuery predicate, so adding or removing a book drops only the entries whose
+     * predicate that book satisfies; every other cached result is provably unchanged.
+     */
+    private LRUCache<String, CachedSearch> searchCache;
+
+    private static final int SEARCH_CACHE_CAPACITY = 256;
+
+    /**
+     * Larger results are not cached: they are cheap relative to their size and would
+     * crowd out the many small ones.
+     */
+    private static final int MAX_CACHED_RESULTS = 1000;
+
+    /**
+     * Full-text index for ranked search
+     * Purpose: "best matches first" instead of unordered substring hits
+     * Why: Term frequencies and document lengths give BM25 scores; the top k come from a
+     * bounded heap, and MaxScore skips documents that cannot reach it.
+     */
+    private BM25Index rankedIndex;
+
+    /**
+     * Ranked search adds POPULARITY_WEIGHT * ln(1 + popularityCount) to the BM25 score,
+     * enough to order similar matches by popularity without outweighing a better match.
+     */
+    private static final double POPULARITY_WEIGHT = 0.2;
+
+    private static final class CachedSearch {
+        final BookQuery predicate;
+        final List<Book> books;
+        final String nextToken; // resume token of a cached first page, else null
+
+        CachedSearch(BookQuery predicate, List<Book> books, String nextToken) {
+            this.predicate = predicate;
+            this.books = books;
+            this.nextToken = nextToken;
+        }
+    }
+
+    /**
+     * Target false positive rate of isbnFilter.
+     */
+    private static final double ISBN_FILTER_FPP = 0.01;
+    private static final int ISBN_FILTER_MIN_SIZE = 1024;
+
+    /**
+     * Sort orders for listBooksPage.
+     */
+    public enum BookOrder {
+        BY_TITLE,
+        BY_ID
+    }
+
+    /**
+     * titleOrder key: normalized title, ties broken by book ID so every book has its own slot.
+     */
+    private static final class TitleKey implements Comparable<TitleKey> {
+        final String title;
+        final int bookId;
+        final Book book;
+
+        TitleKey(Book book) {
+            this.title = book.getTitle() == null ? "" : book.getTitle().toLowerCase().trim();
+            this.bookId = book.getBookId();
+            this.book = book;
+        }
+
+        /**
+         * Search bound: sorts before/after every book of that title for MIN_VALUE/MAX_VALUE.
+         */
+        TitleKey(String title, int bookId) {
+            this.title = title;
+            this.bookId = bookId;
+            this.book = null;
+        }
+
+        @Override
+        public int compareTo(TitleKey other) {
+            int cmp = title.compareTo(other.title);
+            return cmp != 0 ? cmp : Integer.compare(bookId, other.bookId);
+        }
+    }
+
     private int defaultLoanDays = 14;
 
     /**
@@ -92,12 +300,52 @@ public class LibrarySystem {
      * Time Complexity: O(1) - constant initialization
      */
     public LibrarySystem() {
-        // HashTable uses STUDENT_ID as salt to ensure unique hash distribution
-        this.bookTable = new HashTable<>(STUDENT_ID);
-        this.memberTable = new HashTable<>(STUDENT_ID);
+        this(0, 0);
+    }
+
+    /**
+     * Constructor for a known catalog size: ID tables are presized once instead of
+     * rehashing repeatedly while the catalog is loaded.
+     * Time Complexity: O(expectedBooks + expectedMembers) for table allocation
+     *
+     * @param expectedBooks Number of books about to be loaded
+     * @param expectedMembers Number of members about to be loaded
+     */
+    public LibrarySystem(int expectedBooks, int expectedMembers) {
+        this(expectedBooks, expectedMembers, false);
+    }
+
+    /**
+     * @param expectedBooks Number of books about to be loaded
+     * @param expectedMembers Number of members about to be loaded
+     * @param concurrentIdReads true to let searchById, getBook and getMember be called from
+     *                          many threads while one thread modifies the library
+     *                          (costs a second pair of ID tables)
+     */
+    public LibrarySystem(int expectedBooks, int expectedMembers, boolean concurrentIdReads) {
+        this.concurrentBooks = concurrentIdReads ? new ConcurrentHashTable<>(STUDENT_ID, expectedBooks) : null;
+        this.concurrentMembers = concurrentIdReads ? new ConcurrentHashTable<>(STUDENT_ID, expectedMembers) : null;
+        // IntHashTable uses STUDENT_ID as salt to ensure unique hash distribution
+        this.bookTable = new IntHashTable<>(STUDENT_ID, expectedBooks);
+        this.memberTable = new IntHashTable<>(STUDENT_ID, expectedMembers);
         this.loanHistory = new MyLinkedList<>();
         this.popularityHeap = new MaxHeap<>();
         this.titleIndex = new TitleBST();
+        this.titleTrie = new TitleTrie();
+        this.idOrder = new BST<>();
+        this.titleOrder = new BST<>();
+        this.authorIndex = new TokenTrie();
+        this.substringIndex = new TrigramIndex();
+        this.isbnIndex = new HashTable<>(STUDENT_ID, expectedBooks);
+        this.isbnFilter = new BloomFilter(Math.max(expectedBooks, ISBN_FILTER_MIN_SIZE), ISBN_FILTER_FPP);
+        this.categoryIndex = new FacetIndex(STUDENT_ID);
+        this.yearIndex = new RangeIndex();
+        this.pageCountIndex = new RangeIndex();
+        this.titleWords = new BKTree(STUDENT_ID);
+        this.authorWords = new BKTree(STUDENT_ID);
+        this.memberNameIndex = new TokenTrie();
+        this.searchCache = new LRUCache<>(STUDENT_ID, SEARCH_CACHE_CAPACITY);
+        this.rankedIndex = new BM25Index(STUDENT_ID);
     }
 
     // ---------------- Add / Remove ----------------
@@ -108,11 +356,69 @@ public class LibrarySystem {
      * 
      * @param book The book to add
      */
-    public void addBook(Book book) {
-        if (book == null) return;
+    public boolean addBook(Book book) {
+        if (book == null) return false;
+        // Reject a second book with the same ISBN (Bloom filter answers most new ISBNs)
+        if (isbnTaken(Book.normalizeIsbn(book.getIsbn()))) return false;
         addBookInternal(book);
         // Record undo action: if undone, this book will be removed
         UndoManager.getInstance().push(new UndoAction(UndoAction.ActionType.ADD_BOOK, this, book, null, null));
+        return true;
+    }
+
+    /**
+     * Bulk add: sizes the book table and ISBN index once for the whole batch, then adds each book.
+     * Each book still gets its own ADD_BOOK undo entry, same as addBook().
+     * Time Complexity: O(m) table growth (at most once) + O(m log n) for BST/heap inserts
+     *
+     * @param books Books to add (null entries are skipped)
+     * @return Number of books added (books with an already known ISBN are skipped)
+     */
+    public int addBooks(List<Book> books) {
+        if (books == null || books.isEmpty()) return 0;
+        int expected = bookTable.size() + books.size();
+        bookTable.ensureCapacity(expected);
+        if (concurrentBooks != null) concurrentBooks.ensureCapacity(expected);
+        isbnIndex.ensureCapacity(expected);
+        if (expected > isbnFilter.getExpectedInsertions()) rebuildIsbnFilter(expected);
+
+        int added = 0;
+        for (Book book : books) {
+            if (addBook(book)) added++;
+        }
+        return added;
+    }
+
+    /**
+     * Find a book by ISBN in any spelling Book.normalizeIsbn() unifies.
+     * Time Complexity: O(1) average
+     *
+     * @return The book, or null if no book has this ISBN
+     */
+    public Book searchByIsbn(String isbn) {
+        String key = Book.normalizeIsbn(isbn);
+        if (key == null || !isbnFilter.mightContain(key)) return null;
+        Integer id = isbnIndex.get(key);
+        return id == null ? null : bookTable.get(id);
+    }
+
+    public boolean containsIsbn(String isbn) {
+        return isbnTaken(Book.normalizeIsbn(isbn));
+    }
+
+    private boolean isbnTaken(String key) {
+        return key != null && isbnFilter.mightContain(key) && isbnIndex.get(key) != null;
+    }
+
+    /**
+     * Replace the Bloom filter with one sized for expected keys, holding the current ISBNs.
+     * Also clears bits of removed ISBNs. Time Complexity: O(n)
+     */
+    private void rebuildIsbnFilter(int expected) {
+        isbnFilter = new BloomFilter(Math.max(expected, ISBN_FILTER_MIN_SIZE), ISBN_FILTER_FPP);
+        for (String key : isbnIndex.keySet()) {
+            isbnFilter.add(key);
+        }
     }
 
     /**
@@ -123,12 +429,44 @@ public class LibrarySystem {
      */
     void addBookInternal(Book book) {
         if (book == null) return;
-        // Add to HashTable for O(1) ID lookup
+        // Add to IntHashTable for O(1) ID lookup
         bookTable.put(book.getBookId(), book);
+        if (concurrentBooks != null) concurrentBooks.put(book.getBookId(), book);
         // Add to BST for O(log n) title search
         titleIndex.add(book);
         // Add to MaxHeap for popularity tracking (O(log n))
         popularityHeap.insert(book);
+        // Add to title trie for autocomplete
+        titleTrie.add(book);
+        // Add to order-statistic trees for sorted listings
+        idOrder.add(book.getBookId());
+        titleOrder.add(new TitleKey(book));
+        // Add author tokens to the inverted author index and the fuzzy word indexes
+        for (String token : Tokenizer.tokenize(book.getAuthor())) {
+            authorIndex.add(token, book.getBookId());
+            authorWords.add(token, book.getBookId());
+        }
+        for (String token : Tokenizer.tokenize(book.getTitle())) {
+            titleWords.add(token, book.getBookId());
+        }
+        // Add field trigrams for substring search
+        substringIndex.add(book.getBookId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getCategory());
+        // Add to ISBN index (first book keeps an ISBN, e.g. if undo restores a replaced book)
+        String isbnKey = Book.normalizeIsbn(book.getIsbn());
+        if (isbnKey != null && isbnIndex.get(isbnKey) == null) {
+            isbnIndex.put(isbnKey, book.getBookId());
+            isbnFilter.add(isbnKey);
+            if (isbnFilter.isSaturated()) rebuildIsbnFilter(2 * isbnIndex.size());
+        }
+        // Add to category facet index
+        categoryIndex.add(book.getCategory(), book.getBookId());
+        // Add to numeric range indexes
+        yearIndex.add(book.getPublishYear(), book.getBookId());
+        pageCountIndex.add(book.getPageCount(), book.getBookId());
+        // Add title/author/category terms for ranked search
+        rankedIndex.add(book.getBookId(), book.getTitle(), book.getAuthor(), book.getCategory());
+        // Drop cached searches this book now belongs to
+        invalidateSearches(book);
     }
 
     /**
@@ -157,17 +495,47 @@ public class LibrarySystem {
     Book removeBookInternal(int bookId) {
         Book b = bookTable.get(bookId);
         if (b == null) return null;
-        // Remove from HashTable
+        // Remove from IntHashTable
         bookTable.remove(bookId);
+        if (concurrentBooks != null) concurrentBooks.remove(bookId);
         // Remove from BST title index
         try {
             titleIndex.remove(b);
         } catch (Exception ignored) {}
-        // Note: Heap removal not implemented (would require O(n) search). 
-        // This is acceptable as heap is used for top-K queries, not exact removal.
+        // Remove from MaxHeap (O(log n) via its position map)
+        popularityHeap.remove(b);
+        titleTrie.remove(b);
+        idOrder.remove(bookId);
+        titleOrder.remove(new TitleKey(b));
+        for (String token : Tokenizer.tokenize(b.getAuthor())) {
+            authorIndex.remove(token, bookId);
+            authorWords.remove(token, bookId);
+        }
+        for (String token : Tokenizer.tokenize(b.getTitle())) {
+            titleWords.remove(token, bookId);
+        }
+        substringIndex.remove(bookId, b.getTitle(), b.getAuthor(), b.getIsbn(), b.getCategory());
+        String isbnKey = Book.normalizeIsbn(b.getIsbn());
+        Integer indexedId = (isbnKey == null) ? null : isbnIndex.get(isbnKey);
+        if (indexedId != null && indexedId == bookId) isbnIndex.remove(isbnKey);
+        categoryIndex.remove(b.getCategory(), bookId);
+        yearIndex.remove(b.getPublishYear(), bookId);
+        pageCountIndex.remove(b.getPageCount(), bookId);
+        rankedIndex.remove(bookId, b.getTitle(), b.getAuthor(), b.getCategory());
+        invalidateSearches(b);
         return b;
     }
 
+    /**
+     * Update every popularity-ordered index after book's popularity count grew.
+     * Called by borrowBook/returnBook and by undo of a return, which re-borrows the copy.
+     * Time Complexity: O(log n) (heap) + O(L * k) (title trie caches)
+     */
+    void popularityChanged(Book book) {
+        popularityHeap.increaseKey(book);
+        titleTrie.popularityIncreased(book);
+    }
+
     /**
      * Public API: addMember -> push undo
      */
@@ -177,12 +545,30 @@ public class LibrarySystem {
         UndoManager.getInstance().push(new UndoAction(UndoAction.ActionType.ADD_MEMBER, this, null, m, null));
     }
 
+    /**
+     * Bulk addMember: sizes the member table once for the whole batch.
+     * Each member still gets its own ADD_MEMBER undo entry, same as addMember().
+     */
+    public void addMembers(List<Member> members) {
+        if (members == null || members.isEmpty()) return;
+        memberTable.ensureCapacity(memberTable.size() + members.size());
+        if (concurrentMembers != null) concurrentMembers.ensureCapacity(memberTable.size() + members.size());
+        for (Member m : members) {
+            addMember(m);
+        }
+    }
+
     /**
      * Internal addMember: does not push undo
      */
     void addMemberInternal(Member m) {
         if (m == null) return;
+        Member replaced = memberTable.get(m.getMemberID());
+        if (replaced != null && replaced != m) unindexMember(replaced);
         memberTable.put(m.getMemberID(), m);
+        if (concurrentMembers != null) concurrentMembers.put(m.getMemberID(), m);
+        indexMemberName(m.getName(), m.getMemberID());
+        m.setNameListener(memberRenamed);
     }
 
     /**
@@ -204,20 +590,71 @@ public class LibrarySystem {
         Member m = memberTable.get(memberId);
         if (m == null) return null;
         memberTable.remove(memberId);
+        if (concurrentMembers != null) concurrentMembers.remove(memberId);
+        unindexMember(m);
         return m;
     }
 
+    private void unindexMember(Member m) {
+        for (String token : Tokenizer.tokenize(m.getName())) {
+            memberNameIndex.remove(token, m.getMemberID());
+        }
+        if (m.getNameListener() == memberRenamed) m.setNameListener(null);
+    }
+
+    private void indexMemberName(String name, int memberId) {
+        for (String token : Tokenizer.tokenize(name)) {
+            memberNameIndex.add(token, memberId);
+        }
+    }
+
+    /**
+     * Member.setName callback: move the member's ID from the old name tokens to the new ones.
+     */
+    private void memberRenamed(Member m, String oldName) {
+        for (String token : Tokenizer.tokenize(oldName)) {
+            memberNameIndex.remove(token, m.getMemberID());
+        }
+        indexMemberName(m.getName(), m.getMemberID());
+    }
+
+    /**
+     * Search members by name using the member name index.
+     * Every query word must be a prefix of some word of the name: "ay", "ayşe d" and
+     * "demir" all find "Ayşe Demir".
+     * Time Complexity: O(q * (L + T log T)) for q query words matching T postings,
+     * independent of the number of members
+     *
+     * @param nameQuery Name or name-word prefixes
+     * @return Matching members in member ID order
+     */
+    public List<Member> searchMembersByName(String nameQuery) {
+        List<Member> results = new ArrayList<>();
+        PostingList ids = null;
+        for (String token : Tokenizer.tokenize(nameQuery)) {
+            PostingList matches = memberNameIndex.prefix(token);
+            ids = (ids == null) ? matches : ids.intersect(matches);
+            if (ids.isEmpty()) break;
+        }
+        if (ids == null) return results;
+
+        for (int i = 0; i < ids.size(); i++) {
+            results.add(memberTable.get(ids.get(i)));
+        }
+        return results;
+    }
+
     // ---------------- Search ----------------
 
     /**
-     * Search book by ID using HashTable.
-     * Time Complexity: O(1) average case
+     * Search book by ID using IntHashTable.
+     * Time Complexity: O(1) average case, no boxing of the ID
      * 
      * @param id The book ID to search for
      * @return The book if found, null otherwise
      */
     public Book searchById(int id) {
-        return bookTable.get(id);
+        return concurrentBooks != null ? concurrentBooks.get(id) : bookTable.get(id);
     }
 
     /**
@@ -229,33 +666,566 @@ public class LibrarySystem {
      */
     public List<Book> searchByTitle(String titlePrefix) {
         if (titlePrefix == null || titlePrefix.trim().isEmpty()) return new ArrayList<>();
-        return titleIndex.searchByTitlePrefix(titlePrefix);
+        return cachedSearch("title:" + titlePrefix.toLowerCase().trim(), BookQuery.titlePrefix(titlePrefix),
+                () -> titleIndex.searchByTitlePrefix(titlePrefix));
     }
 
     /**
-     * Search books by author (substring match).
-     * Time Complexity: O(n) where n is total number of books
-     * Note: Could be optimized with separate BST or HashTable, but linear search is acceptable for this scale.
-     * 
-     * @param authorQuery The author name (substring) to search for
+     * Paged title prefix search: walks the title index lazily and stops as soon as the
+     * page is full, so a one-letter prefix on a large catalog still touches only one page.
+     * First pages (offset 0, no token) go through the search cache, keyed on the page size
+     * and normalized prefix; later pages resume from the token and are not cached.
+     * Time Complexity: O(log n + offset + limit); O(limit) copy for a cached first page
+     *
+     * @param titlePrefix The title prefix to search for
+     * @param offset Number of matches to skip (after the resume position, if any)
+     * @param limit Maximum number of books on the page
+     * @param resumeToken Page.getNextToken() of the previous page, or null for the first page
+     * @return The page, in title order
+     * @throws IllegalArgumentException if offset/limit are negative or the token is malformed
+     */
+    public Page<Book> searchByTitle(String titlePrefix, int offset, int limit, String resumeToken) {
+        if (offset < 0 || limit < 0) throw new IllegalArgumentException("offset and limit cannot be negative");
+        List<Book> items = new ArrayList<>();
+        if (titlePrefix == null || titlePrefix.trim().isEmpty()) return new Page<>(items, null);
+
+        boolean firstPage = offset == 0 && resumeToken == null && limit <= MAX_CACHED_RESULTS;
+        String key = "titlePage:" + limit + ":" + titlePrefix.toLowerCase().trim();
+        if (firstPage) {
+            CachedSearch cached = searchCache.get(key);
+            if (cached != null) return new Page<>(new ArrayList<>(cached.books), cached.nextToken);
+        }
+
+        TitleBST.Cursor cursor = titleIndex.cursor(titlePrefix, resumeToken);
+        cursor.skip(offset);
+        while (items.size() < limit && cursor.hasNext()) {
+            items.add(cursor.next());
+        }
+        String next = (cursor.hasNext() && !items.isEmpty()) ? cursor.resumeToken() : null;
+        if (firstPage) {
+            searchCache.put(key, new CachedSearch(BookQuery.titlePrefix(titlePrefix), new ArrayList<>(items), next));
+        }
+        return new Page<>(items, next);
+    }
+
+    /**
+     * Title autocomplete: most popular books whose title starts with prefix.
+     * Time Complexity: O(L + limit) for limit <= TitleTrie.SUGGESTION_LIMIT
+     *
+     * @param prefix The typed title prefix
+     * @param limit Maximum number of suggestions
+     * @return Matching books, most popular first
+     */
+    public List<Book> suggestTitles(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) return new ArrayList<>();
+        return titleTrie.suggest(prefix, limit);
+    }
+
+    /**
+     * Search books by author using the inverted author index.
+     * Time Complexity: O(q * (L + T log T)) for q query tokens matching T postings,
+     * independent of catalog size
+     *
+     * Every query token must be a prefix of some token of the author name (AND semantics):
+     * "tolk", "j tolkien" and "r. tolkien" all find "J.R.R. Tolkien". Results are in book ID order.
+     *
+     * @param authorQuery Author name or name-word prefixes to search for
      * @return List of books by matching authors
      */
     public List<Book> searchByAuthor(String authorQuery) {
         List<Book> results = new ArrayList<>();
         if (authorQuery == null || authorQuery.trim().isEmpty()) return results;
-        String q = authorQuery.toLowerCase();
-
-        MyLinkedList<Book> all = listAllBooks();
-        for (int i = 0; i < all.size(); i++) {
-            Book b = all.get(i);
-            if (b == null) continue;
-            if (b.getAuthor() != null && b.getAuthor().toLowerCase().contains(q)) {
-                results.add(b);
+
+        return cachedSearch("author:" + String.join(" ", Tokenizer.tokenize(authorQuery)), BookQuery.author(authorQuery),
+                () -> {
+                    PostingList ids = authorIds(authorQuery);
+                    for (int i = 0; i < ids.size(); i++) {
+                        results.add(bookTable.get(ids.get(i)));
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * IDs of books whose author matches every token of authorQuery (see searchByAuthor).
+     */
+    PostingList authorIds(String authorQuery) {
+        PostingList ids = null;
+        for (String token : Tokenizer.tokenize(authorQuery)) {
+            PostingList matches = authorIndex.prefix(token);
+            ids = (ids == null) ? matches : ids.intersect(matches);
+            if (ids.isEmpty()) break;
+        }
+        return ids == null ? new PostingList() : ids;
+    }
+
+    /**
+     * Typo-tolerant title search: every query word must be within a few edits of a word of
+     * the title. The allowed edits grow with word length (see typoBudget), so short words
+     * must match exactly and "fahrenhiet 451" finds "Fahrenheit 451".
+     * Time Complexity: O(q * visited * L^2) BK-tree lookups + O(T log T) to merge T postings
+     *
+     * @param query Title words, possibly misspelled
+     * @return Matching books, fewest total edits first (ties by book ID)
+     */
+    public List<Book> fuzzySearchByTitle(String query) {
+        return fuzzySearch(titleWords, query, -1);
+    }
+
+    /**
+     * Typo-tolerant title search with a fixed edit budget per query word.
+     *
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public List<Book> fuzzySearchByTitle(String query, int maxDistance) {
+        if (maxDistance < 0) throw new IllegalArgumentException("maxDistance cannot be negative");
+        return fuzzySearch(titleWords, query, maxDistance);
+    }
+
+    /**
+     * Typo-tolerant author search ("dostoyevsky" finds "Fyodor Dostoevsky"), same rules
+     * as fuzzySearchByTitle.
+     */
+    public List<Book> fuzzySearchByAuthor(String query) {
+        return fuzzySearch(authorWords, query, -1);
+    }
+
+    /**
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public List<Book> fuzzySearchByAuthor(String query, int maxDistance) {
+        if (maxDistance < 0) throw new IllegalArgumentException("maxDistance cannot be negative");
+        return fuzzySearch(authorWords, query, maxDistance);
+    }
+
+    /**
+     * AND over query words: a book matches if each query word is close to one of its words.
+     * Its score is the sum over query words of the closest distance.
+     *
+     * @param maxDistance Edit budget per word, or -1 for typoBudget(word)
+     */
+    private List<Book> fuzzySearch(BKTree words, String query, int maxDistance) {
+        List<Book> results = new ArrayList<>();
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty()) return results;
+
+        PostingList ids = null;
+        List<List<BKTree.Match>> perToken = new ArrayList<>();
+        for (String token : tokens) {
+            int budget = maxDistance < 0 ? typoBudget(token) : maxDistance;
+            List<BKTree.Match> matches = words.search(token, budget);
+            List<PostingList> lists = new ArrayList<>();
+            for (BKTree.Match m : matches) lists.add(m.getIds());
+            PostingList tokenIds = PostingList.unionOf(lists);
+            ids = (ids == null) ? tokenIds : ids.intersect(tokenIds);
+            if (ids.isEmpty()) return results;
+            perToken.add(matches);
+        }
+
+        int[] scores = new int[ids.size()];
+        for (List<BKTree.Match> matches : perToken) {
+            for (int i = 0; i < ids.size(); i++) {
+                // matches are sorted closest first: the first one holding the book is its distance
+                for (BKTree.Match m : matches) {
+                    if (m.getIds().contains(ids.get(i))) {
+                        scores[i] += m.getDistance();
+                        break;
+                    }
+                }
             }
         }
+
+        Integer[] order = new Integer[ids.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> scores[a] != scores[b] ? Integer.compare(scores[a], scores[b]) : Integer.compare(a, b));
+        for (int i : order) results.add(bookTable.get(ids.get(i)));
+        return results;
+    }
+
+    /**
+     * Edits allowed for a query word: none up to 3 characters, 1 up to 6, 2 beyond.
+     */
+    private static int typoBudget(String token) {
+        if (token.length() <= 3) return 0;
+        return token.length() <= 6 ? 1 : 2;
+    }
+
+    /**
+     * Books in a category (case-insensitive exact match), in book ID order.
+     * Time Complexity: O(m) where m is the number of books in the category
+     */
+    public List<Book> searchByCategory(String category) {
+        List<Book> results = new ArrayList<>();
+        PostingList ids = categoryIndex.get(category);
+        for (int i = 0; i < ids.size(); i++) {
+            results.add(bookTable.get(ids.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Number of books in each category, largest first.
+     * Time Complexity: O(c log c) for c categories, independent of catalog size
+     */
+    public List<FacetIndex.FacetCount> getCategoryCounts() {
+        return categoryIndex.counts();
+    }
+
+    /**
+     * Time Complexity: O(1) average
+     */
+    public int countByCategory(String category) {
+        return categoryIndex.count(category);
+    }
+
+    /**
+     * Books published in [fromYear, toYear], oldest first.
+     * Time Complexity: O(log n + m)
+     */
+    public List<Book> searchByYearRange(int fromYear, int toYear) {
+        return booksFor(yearIndex.range(fromYear, toYear));
+    }
+
+    /**
+     * Books with between minPages and maxPages pages (inclusive), shortest first.
+     * Time Complexity: O(log n + m)
+     */
+    public List<Book> searchByPageCountRange(int minPages, int maxPages) {
+        return booksFor(pageCountIndex.range(minPages, maxPages));
+    }
+
+    private List<Book> booksFor(int[] ids) {
+        List<Book> results = new ArrayList<>(ids.length);
+        for (int id : ids) results.add(bookTable.get(id));
+        return results;
+    }
+
+    /**
+     * Search books whose title, author, ISBN or category contains query (case-insensitive).
+     * Time Complexity: O(Q + c) for c trigram candidates; O(n) scan for queries under 3 chars
+     *
+     * @param query Substring to look for
+     * @return Matching books (book ID order when the index is used)
+     */
+    public List<Book> searchAnyField(String query) {
+        List<Book> results = new ArrayList<>();
+        if (query == null || query.trim().isEmpty()) return results;
+        String q = query.toLowerCase();
+
+        return cachedSearch("any:" + q, BookQuery.contains(q), () -> {
+            for (Book b : substringCandidates(q)) {
+                if (b != null && b.matches(q)) results.add(b);
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Search books whose title contains query (case-insensitive).
+     * Time Complexity: O(Q + c) for c trigram candidates; O(n) scan for queries under 3 chars
+     *
+     * @param query Substring to look for
+     * @return Matching books (book ID order when the index is used)
+     */
+    public List<Book> searchTitleContains(String query) {
+        if (query == null || query.trim().isEmpty()) return new ArrayList<>();
+        String q = query.toLowerCase();
+        return searchFieldContains("titleContains:" + q, BookQuery.titleContains(q), q);
+    }
+
+    /**
+     * Search books whose author contains query (case-insensitive).
+     * Time Complexity: O(Q + c) for c trigram candidates; O(n) scan for queries under 3 chars
+     *
+     * @param query Substring to look for
+     * @return Matching books (book ID order when the index is used)
+     */
+    public List<Book> searchAuthorContains(String query) {
+        if (query == null || query.trim().isEmpty()) return new ArrayList<>();
+        String q = query.toLowerCase();
+        return searchFieldContains("authorContains:" + q, BookQuery.authorContains(q), q);
+    }
+
+    /**
+     * Cached single-field substring search: trigram candidates of q filtered by predicate.
+     */
+    private List<Book> searchFieldContains(String key, BookQuery predicate, String q) {
+        return cachedSearch(key, predicate, () -> {
+            List<Book> results = new ArrayList<>();
+            for (Book b : substringCandidates(q)) {
+                if (b != null && predicate.test(b)) results.add(b);
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Relevance-ranked search over title, author and category words: BM25 plus a small
+     * popularity boost. Books sharing no word with the query are not returned.
+     * Time Complexity: O(P * (q + log k)) worst case for P postings of q query words;
+     * MaxScore usually visits far fewer once the top k is filled
+     *
+     * @param query Free text, e.g. "tolkien fantasy"
+     * @param k Maximum number of results
+     * @return Best matches first
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public List<Book> searchRanked(String query, int k) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive");
+        List<Book> results = new ArrayList<>();
+        if (query == null || query.trim().isEmpty()) return results;
+
+        Book mostPopular = popularityHeap.peek();
+        double maxBoost = (mostPopular == null) ? 0 : popularityBoost(mostPopular);
+        for (BM25Index.Hit hit : rankedIndex.topK(query, k, id -> popularityBoost(bookTable.get(id)), maxBoost)) {
+            results.add(bookTable.get(hit.getId()));
+        }
+        return results;
+    }
+
+    private static double popularityBoost(Book book) {
+        return POPULARITY_WEIGHT * Math.log1p(book.getPopularityCount());
+    }
+
+    /**
+     * Serve a search from the cache, or run it and cache the result.
+     * Callers get their own copy, so they may modify it.
+     *
+     * @param key Search type + normalized query: equal keys must give equal results
+     * @param predicate True exactly for the books that belong in the result
+     * @param search Runs the uncached search
+     */
+    private List<Book> cachedSearch(String key, BookQuery predicate, Supplier<List<Book>> search) {
+        CachedSearch cached = searchCache.get(key);
+        if (cached != null) return new ArrayList<>(cached.books);
+
+        List<Book> results = search.get();
+        if (results.size() <= MAX_CACHED_RESULTS) {
+            searchCache.put(key, new CachedSearch(predicate, new ArrayList<>(results), null));
+        }
+        return results;
+    }
+
+    /**
+     * Drop the cached searches whose result gains or loses book.
+     * Time Complexity: O(c) predicate checks for c cached searches
+     */
+    private void invalidateSearches(Book book) {
+        if (searchCache.size() > 0) searchCache.removeIf(cached -> cached.predicate.test(book));
+    }
+
+    /**
+     * Hit/miss/eviction/invalidation counters of the search result cache.
+     */
+    public LRUCache.Stats getSearchCacheStats() {
+        return searchCache.stats();
+    }
+
+    // ---------------- Hash table tuning ----------------
+
+    /**
+     * Bucket / probe distribution of bookTable, memberTable and isbnIndex, one report each.
+     * Time Complexity: O(capacity + n) per table
+     */
+    public String analyzeHashTables() {
+        return "bookTable:   " + HashTableAnalyzer.analyze(bookTable) + "\n"
+                + "memberTable: " + HashTableAnalyzer.analyze(memberTable) + "\n"
+                + "isbnIndex:   " + HashTableAnalyzer.analyze(isbnIndex);
+    }
+
+    /**
+     * Benchmark the built-in strategies (fibonacci-mask, murmur-mask, salted-prime) on the
+     * live keys of bookTable, memberTable and isbnIndex, and switch each table to the
+     * strategy with the fastest lookups. Empty tables are left unchanged.
+     * Time Complexity: O(s * n) per table for s strategies, plus one rehash per switched table
+     *
+     * @return Per table: the chosen strategy and the report of every candidate
+     */
+    public String tuneHashStrategies() {
+        HashStrategy[] candidates = {
+                new MultiplyShiftHashStrategy(), new MurmurMaskHashStrategy(), new SaltedPrimeHashStrategy()
+        };
+        StringBuilder sb = new StringBuilder();
+
+        if (bookTable.isEmpty()) {
+            sb.append("bookTable: empty, kept ").append(bookTable.getHashStrategy().name()).append('\n');
+        } else {
+            List<HashTableAnalyzer.Report> reports =
+                    HashTableAnalyzer.compareIntKeys(bookTable.keySet(), STUDENT_ID, candidates);
+            HashStrategy best = candidates[fastest(reports)];
+            bookTable.setHashStrategy(best);
+            appendTuning(sb, "bookTable", best, reports);
+        }
+
+        if (memberTable.isEmpty()) {
+            sb.append("memberTable: empty, kept ").append(memberTable.getHashStrategy().name()).append('\n');
+        } else {
+            List<HashTableAnalyzer.Report> reports =
+                    HashTableAnalyzer.compareIntKeys(memberTable.keySet(), STUDENT_ID, candidates);
+            HashStrategy best = candidates[fastest(reports)];
+            memberTable.setHashStrategy(best);
+            appendTuning(sb, "memberTable", best, reports);
+        }
+
+        if (isbnIndex.isEmpty()) {
+            sb.append("isbnIndex: empty, kept ").append(isbnIndex.getHashStrategy().name()).append('\n');
+        } else {
+            List<HashTableAnalyzer.Report> reports =
+                    HashTableAnalyzer.compare(isbnIndex.keySet(), STUDENT_ID, candidates);
+            HashStrategy best = candidates[fastest(reports)];
+            isbnIndex.setHashStrategy(best);
+            appendTuning(sb, "isbnIndex", best, reports);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Slot count of bookTable (grows with the catalog, shrinks after mass removals).
+     */
+    int bookTableCapacity() {
+        return bookTable.capacity();
+    }
+
+    /**
+     * Slot count of memberTable.
+     */
+    int memberTableCapacity() {
+        return memberTable.capacity();
+    }
+
+    /**
+     * Index of the report with the lowest lookup time.
+     */
+    private static int fastest(List<HashTableAnalyzer.Report> reports) {
+        int best = 0;
+        for (int i = 1; i < reports.size(); i++) {
+            if (reports.get(i).getNanosPerLookup() < reports.get(best).getNanosPerLookup()) best = i;
+        }
+        return best;
+    }
+
+    private static void appendTuning(StringBuilder sb, String table, HashStrategy chosen,
+                                     List<HashTableAnalyzer.Report> reports) {
+        sb.append(table).append(": using ").append(chosen.name()).append('\n');
+        for (HashTableAnalyzer.Report report : reports) {
+            sb.append("  ").append(report.toString().replace("\n", "\n  ")).append('\n');
+        }
+    }
+
+    /**
+     * Books that may contain q in one of their fields: trigram candidates, or the whole
+     * catalog when q is too short for the index.
+     */
+    private Iterable<Book> substringCandidates(String q) {
+        PostingList ids = substringIndex.candidates(q);
+        if (ids == null) return listAllBooks();
+
+        MyLinkedList<Book> books = new MyLinkedList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            books.add(bookTable.get(ids.get(i)));
+        }
+        return books;
+    }
+
+    // ---------------- Composite queries ----------------
+
+    /**
+     * Books matching a composite filter, e.g.
+     * search(and(author("tolkien"), category("Fantasy"), yearBetween(1930, 1960), available())).
+     * Time Complexity: O(index lookups + c) for c candidates left by the indexed parts;
+     * O(n) when no part of the query can use an index (see QueryPlanner)
+     *
+     * @param query The filter
+     * @return Matching books in book ID order
+     * @throws IllegalArgumentException if query is null
+     */
+    public List<Book> search(BookQuery query) {
+        if (query == null) throw new IllegalArgumentException("query cannot be null");
+        List<Book> results = new ArrayList<>();
+        PostingList ids = new QueryPlanner(this).plan(query);
+
+        if (ids == null) {
+            for (Book b : listAllBooks()) {
+                if (query.test(b)) results.add(b);
+            }
+            results.sort((a, b) -> Integer.compare(a.getBookId(), b.getBookId()));
+            return results;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            Book b = bookTable.get(ids.get(i));
+            if (b != null && query.test(b)) results.add(b);
+        }
         return results;
     }
 
+    /**
+     * The plan search(query) would use: which index drives, which parts are intersected
+     * and which are only checked per book. Runs the index lookups, not the final checks.
+     *
+     * @throws IllegalArgumentException if query is null
+     */
+    public String explain(BookQuery query) {
+        if (query == null) throw new IllegalArgumentException("query cannot be null");
+        QueryPlanner planner = new QueryPlanner(this);
+        PostingList ids = planner.plan(query);
+        return "Query: " + query + "\n"
+                + planner.explanation()
+                + (ids == null ? "Check all " + bookTable.size() + " books" : "Check " + ids.size() + " candidates");
+    }
+
+    // Index access for BookQuery / QueryPlanner
+
+    /**
+     * Number of books whose normalized title starts with prefix.
+     * Time Complexity: O(log n) - two ranks in titleOrder
+     */
+    int countTitlePrefix(String prefix) {
+        return titlePrefixEnd(prefix) - titlePrefixStart(prefix);
+    }
+
+    PostingList titlePrefixIds(String prefix) {
+        int from = titlePrefixStart(prefix);
+        int[] ids = new int[titlePrefixEnd(prefix) - from];
+        int n = 0;
+        for (TitleKey key : titleOrder.range(from, ids.length)) ids[n++] = key.bookId;
+        return PostingList.of(ids);
+    }
+
+    private int titlePrefixStart(String prefix) {
+        return titleOrder.rank(new TitleKey(prefix, Integer.MIN_VALUE));
+    }
+
+    private int titlePrefixEnd(String prefix) {
+        return titleOrder.rank(new TitleKey(prefix + Character.MAX_VALUE, Integer.MIN_VALUE));
+    }
+
+    PostingList categoryIds(String category) {
+        return categoryIndex.get(category);
+    }
+
+    /**
+     * Trigram candidates for a lowercase substring, or null if it is too short to index.
+     */
+    PostingList substringIds(String text) {
+        return substringIndex.candidates(text);
+    }
+
+    int countYearRange(int fromYear, int toYear) {
+        return yearIndex.count(fromYear, toYear);
+    }
+
+    PostingList yearRangeIds(int fromYear, int toYear) {
+        return PostingList.of(yearIndex.range(fromYear, toYear));
+    }
+
+    int countPageCountRange(int minPages, int maxPages) {
+        return pageCountIndex.count(minPages, maxPages);
+    }
+
+    PostingList pageCountRangeIds(int minPages, int maxPages) {
+        return PostingList.of(pageCountIndex.range(minPages, maxPages));
+    }
+
     // ---------------- Borrow ----------------
 
     /**
@@ -270,7 +1240,7 @@ public class LibrarySystem {
      * @return true if borrowed immediately, false if waitlisted or failed
      */
     public boolean borrowBook(int memberId, int bookId) {
-        // O(1) HashTable lookup
+        // O(1) IntHashTable lookup
         Member member = memberTable.get(memberId);
         Book book = bookTable.get(bookId);
 
@@ -293,8 +1263,8 @@ public class LibrarySystem {
             // Add to global loan history (LinkedList)
             loanHistory.add(lr);
 
-            // Update popularity heap (O(log n))
-            popularityHeap.increaseKey(book);
+            // Update popularity heap and title suggestions
+            popularityChanged(book);
 
             // Record undo action
             UndoManager.getInstance().push(new UndoAction(UndoAction.ActionType.BORROW_BOOK, this, book, member, lr));
@@ -302,6 +1272,7 @@ public class LibrarySystem {
             return true;
         } else {
             // Book unavailable: add to waitlist queue (FIFO - fair first-come-first-served)
+            // A member already on the waitlist is rejected in O(1) by the queue's membership index
             book.addToWaitList(member);
             return false;
         }
@@ -340,7 +1311,7 @@ public class LibrarySystem {
         member.removeActiveLoanRecord(active);
 
         // Update popularity
-        popularityHeap.increaseKey(book);
+        popularityChanged(book);
 
         // calculate penalties if any
         int lateDays = active.calculateLateDays();
@@ -358,7 +1329,7 @@ public class LibrarySystem {
                     LoanRecord newLr = next.borrowBook(book);
                     if (newLr != null) {
                         loanHistory.add(newLr);
-                        popularityHeap.increaseKey(book);
+                        popularityChanged(book);
                         System.out.println("Kitap sıradaki üyeye verildi: " + next.getName() + " (ID: " + next.getMemberID() + ")");
                         // push undo for this automatic borrow
                         UndoManager.getInstance().push(new UndoAction(UndoAction.ActionType.BORROW_BOOK, this, book, next, newLr));
@@ -381,21 +1352,21 @@ public class LibrarySystem {
         return true;
     }
 
-    // find active loan record in global loanHistory (non-returned)
+    // find active loan record (non-returned).
+    // Member's own history is checked first: it holds the same LoanRecord objects as the global
+    // loanHistory but only this member's loans, so the scan does not grow with library-wide history.
     private LoanRecord findActiveLoanRecord(Member member, Book book) {
         if (member == null || book == null) return null;
 
-        for (int i = 0; i < loanHistory.size(); i++) {
-            LoanRecord r = loanHistory.get(i);
-            if (!r.isReturned() && r.getMember().equals(member) && r.getBook().equals(book)) return r;
-        }
-        // Fallback: check member.loanHistory (if accessible)
         try {
-            for (int i = 0; i < member.getLoanHistory().size(); i++) {
-                LoanRecord r = member.getLoanHistory().get(i);
+            for (LoanRecord r : member.getLoanHistory()) {
                 if (!r.isReturned() && r.getMember().equals(member) && r.getBook().equals(book)) return r;
             }
         } catch (Exception ignored) {}
+        // Fallback: global loanHistory
+        for (LoanRecord r : loanHistory) {
+            if (!r.isReturned() && r.getMember().equals(member) && r.getBook().equals(book)) return r;
+        }
         return null;
     }
 
@@ -403,18 +1374,17 @@ public class LibrarySystem {
 
     /**
      * Get top-K most popular books using MaxHeap.
-     * Time Complexity: O(k log n) where k is number requested, n is total books
+     * Time Complexity: O(k) while the cached leaderboard is current, O(k log k) otherwise
      * 
-     * Uses MaxHeap to efficiently retrieve books sorted by popularity count.
-     * This is optimal because heap maintains max element at root, allowing
-     * efficient extraction of top-K elements without sorting entire collection.
+     * Uses the MaxHeap leaderboard: repeated polls for the same k reuse the last result,
+     * which is patched only when a borrow actually changes the top-K.
      * 
      * @param k Number of popular books to retrieve
      * @return List of top-K popular books (sorted by popularity descending)
      */
     public List<Book> getTopKPopular(int k) {
         if (k <= 0) return new ArrayList<>();
-        return popularityHeap.getTopK(k);
+        return popularityHeap.getLeaderboard(k);
     }
 
     // ---------------- Penalty / Admin ----------------
@@ -426,13 +1396,45 @@ public class LibrarySystem {
 
     // ---------------- Utility ----------------
 
-    public Member getMember(int id) { return memberTable.get(id); }
-    public Book getBook(int id) { return bookTable.get(id); }
+    public Member getMember(int id) { return concurrentMembers != null ? concurrentMembers.get(id) : memberTable.get(id); }
+    public Book getBook(int id) { return searchById(id); }
 
     public MyLinkedList<Book> listAllBooks() {
         return bookTable.values();
     }
 
+    /**
+     * One page of the catalog in sorted order.
+     * Time Complexity: O(log n + pageSize) - select() jumps straight to the first row
+     *
+     * @param order Sort order
+     * @param page 1-based page number
+     * @param pageSize Books per page
+     * @return Books on that page (empty past the last page)
+     * @throws IllegalArgumentException if page or pageSize is not positive
+     */
+    public List<Book> listBooksPage(BookOrder order, int page, int pageSize) {
+        if (page <= 0 || pageSize <= 0) throw new IllegalArgumentException("page and pageSize must be positive");
+        List<Book> result = new ArrayList<>();
+        long from = (long) (page - 1) * pageSize;
+        if (from >= idOrder.size()) return result;
+
+        if (order == BookOrder.BY_TITLE) {
+            for (TitleKey key : titleOrder.range((int) from, pageSize)) result.add(key.book);
+        } else {
+            for (int id : idOrder.range((int) from, pageSize)) result.add(bookTable.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Number of pages listBooksPage produces for pageSize.
+     */
+    public int getBookPageCount(int pageSize) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be positive");
+        return (idOrder.size() + pageSize - 1) / pageSize;
+    }
+
     public MyLinkedList<Member> listAllMembers() {
         return memberTable.values();
     }
@@ -459,7 +1461,8 @@ public class LibrarySystem {
 
     /**
      * Interactive search menu for console UI.
-     * Uses substring matching (case-insensitive) on title/author/isbn/category.
+     * Uses substring matching (case-insensitive) on title/author/isbn/category;
+     * choices 1-3 are served from the search cache when repeated.
      */
     public void searchBookMenu() {
         Scanner sc = new Scanner(System.in);
@@ -468,6 +1471,7 @@ public class LibrarySystem {
         System.out.println("1. Search by Title");
         System.out.println("2. Search by Author");
         System.out.println("3. Search by Any Field (title/author/isbn/category)");
+        System.out.println("4. Ranked Search (best matches first)");
         System.out.print("Select: ");
         int choice;
         try {
@@ -485,27 +1489,24 @@ public class LibrarySystem {
         }
         String q = query.toLowerCase();
 
-        List<Book> results = new ArrayList<>();
-        MyLinkedList<Book> allBooks = listAllBooks();
-
-        for (int i = 0; i < allBooks.size(); i++) {
-            Book b = allBooks.get(i);
-            if (b == null) continue;
-
-            switch (choice) {
-                case 1:
-                    if (b.getTitle() != null && b.getTitle().toLowerCase().contains(q)) results.add(b);
-                    break;
-                case 2:
-                    if (b.getAuthor() != null && b.getAuthor().toLowerCase().contains(q)) results.add(b);
-                    break;
-                case 3:
-                    if (b.matches(q)) results.add(b);
-                    break;
-                default:
-                    System.out.println("Invalid choice.");
-                    return;
-            }
+        List<Book> results;
+        switch (choice) {
+            case 1:
+                results = searchTitleContains(q);
+                break;
+            case 2:
+                results = searchAuthorContains(q);
+                break;
+            case 3:
+                results = searchAnyField(q);
+                break;
+            case 4:
+                // Ranked mode: best 20 matches by relevance instead of every substring hit
+                results = searchRanked(q, 20);
+                break;
+            default:
+                System.out.println("Invalid choice.");
+                return;
         }
 
         if (results.isEmpty()) {
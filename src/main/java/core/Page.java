@@ -0,0 +1,40 @@
+package core;
+
+import java.util.List;
+
+/**
+ * Page - One page of a paginated search or listing.
+ *
+ * PURPOSE: Return a bounded slice of a large result set together with what the caller
+ * needs to request the next slice.
+ * Used by LibrarySystem.searchByTitle (paged variant).
+ *
+ * RESUME TOKEN: an opaque string identifying the last item of this page. Passing it back
+ * continues right after that item, even if books were added or removed in between.
+ * It is null when there are no more results.
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final String nextToken;
+
+    public Page(List<T> items, String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return token for the following page, or null if this is the last page
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasMore() {
+        return nextToken != null;
+    }
+}
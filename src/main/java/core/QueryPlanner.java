@@ -0,0 +1,206 @@
+package core;
+
+import dataStructure.index.PostingList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * QueryPlanner - Chooses how LibrarySystem.search evaluates a BookQuery.
+ *
+ * PURPOSE: Use the catalog indexes for as much of a composite filter as possible and
+ * record the chosen plan for LibrarySystem.explain.
+ *
+ * PLAN RULES:
+ * - Indexed leaf: its posting list (title tree, author trie, category facet, ISBN table,
+ *   trigram index, year/page range index).
+ * - AND: indexed parts ordered by estimated size; the smallest drives, the next ones are
+ *   intersected while their size is at most INTERSECT_FACTOR times the current candidates.
+ *   Larger or unindexed parts are not looked up: they are checked per candidate (FILTER),
+ *   which is cheaper than materializing a list much bigger than the candidate set.
+ * - OR: union of its parts when all of them are indexed, otherwise a full scan.
+ * - No usable index at all: full scan.
+ *
+ * The planner only narrows candidates; search() always checks query.test on each
+ * candidate, so a plan can never change the result, only its cost.
+ *
+ * COMPLEXITY ANALYSIS:
+ * - Planning: O(p log p) for p predicates plus the index lookups that are used
+ * - Intersecting lists of sizes a <= b: O(a + b), or O(a log b) when b >> a
+ */
+final class QueryPlanner {
+
+    /**
+     * An indexed AND part is intersected only if it is at most this many times larger
+     * than the current candidate set; otherwise it is applied as a per-book filter.
+     */
+    static final int INTERSECT_FACTOR = 8;
+
+    private static final String INDENT = "  ";
+
+    private final LibrarySystem library;
+    private final StringBuilder explain = new StringBuilder();
+
+    QueryPlanner(LibrarySystem library) {
+        this.library = library;
+    }
+
+    /**
+     * Candidate IDs for query, or null if the catalog must be scanned.
+     */
+    PostingList plan(BookQuery query) {
+        return plan(query, 0);
+    }
+
+    /**
+     * The plan chosen by the last plan() call, one step per line.
+     */
+    String explanation() {
+        return explain.toString();
+    }
+
+    /**
+     * One part of an AND/OR with its estimate and, once looked up, its candidates.
+     */
+    private static final class Step {
+        final BookQuery query;
+        int estimate = BookQuery.NOT_INDEXED;
+        PostingList ids;
+        String subPlan = "";
+
+        Step(BookQuery query) {
+            this.query = query;
+        }
+
+        boolean indexed() {
+            return estimate != BookQuery.NOT_INDEXED;
+        }
+    }
+
+    private PostingList plan(BookQuery query, int depth) {
+        if (query instanceof BookQuery.And) return planAnd(((BookQuery.And) query).parts, depth);
+        if (query instanceof BookQuery.Or) return planOr(((BookQuery.Or) query).parts, depth);
+
+        Step step = estimate(query, depth);
+        if (!step.indexed()) {
+            line(depth, "FULL SCAN, filter " + query);
+            return null;
+        }
+        line(depth, "INDEX " + describe(step));
+        return lookup(step);
+    }
+
+    private PostingList planAnd(BookQuery[] parts, int depth) {
+        List<Step> indexed = new ArrayList<>();
+        List<Step> filters = new ArrayList<>();
+        for (BookQuery part : parts) {
+            Step step = estimate(part, depth + 1);
+            if (step.indexed()) indexed.add(step);
+            else filters.add(step);
+        }
+        indexed.sort((a, b) -> Integer.compare(a.estimate, b.estimate));
+
+        if (indexed.isEmpty()) {
+            line(depth, "AND: FULL SCAN (no indexed part)");
+            for (Step step : filters) filterLine(step, depth + 1, "no index");
+            return null;
+        }
+
+        StringBuilder steps = new StringBuilder();
+        PostingList candidates = null;
+        for (Step step : indexed) {
+            if (candidates == null) {
+                candidates = lookup(step);
+                stepLine(steps, step, depth + 1, "DRIVER");
+            } else if (candidates.isEmpty()) {
+                stepLine(steps, step, depth + 1, "SKIP (no candidates left)");
+            } else if (step.estimate <= (long) INTERSECT_FACTOR * candidates.size()) {
+                candidates = candidates.intersect(lookup(step));
+                stepLine(steps, step, depth + 1, "INTERSECT -> " + candidates.size());
+            } else {
+                stepLine(steps, step, depth + 1,
+                        "FILTER (index too large: > " + INTERSECT_FACTOR + "x candidates)");
+            }
+        }
+        line(depth, "AND: " + candidates.size() + " candidates");
+        explain.append(steps);
+        for (Step step : filters) filterLine(step, depth + 1, "no index");
+        return candidates;
+    }
+
+    private PostingList planOr(BookQuery[] parts, int depth) {
+        List<Step> steps = new ArrayList<>();
+        boolean allIndexed = true;
+        for (BookQuery part : parts) {
+            Step step = estimate(part, depth + 1);
+            steps.add(step);
+            allIndexed &= step.indexed();
+        }
+
+        if (!allIndexed) {
+            line(depth, "OR: FULL SCAN (a part has no index)");
+            for (Step step : steps) filterLine(step, depth + 1, step.indexed() ? "scan anyway" : "no index");
+            return null;
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        StringBuilder lines = new StringBuilder();
+        for (Step step : steps) {
+            lists.add(lookup(step));
+            stepLine(lines, step, depth + 1, "UNION");
+        }
+        PostingList union = PostingList.unionOf(lists);
+        line(depth, "OR: " + union.size() + " candidates");
+        explain.append(lines);
+        return union;
+    }
+
+    /**
+     * Estimate one AND/OR part. Composite parts are planned right away (their size is
+     * only known after their own lookups); leaves are only estimated unless the estimate
+     * itself is the lookup.
+     */
+    private Step estimate(BookQuery query, int depth) {
+        Step step = new Step(query);
+        if (query instanceof BookQuery.And || query instanceof BookQuery.Or) {
+            QueryPlanner sub = new QueryPlanner(library);
+            step.ids = sub.plan(query, depth + 1);
+            step.subPlan = sub.explanation();
+            if (step.ids != null) step.estimate = step.ids.size();
+        } else if (query.estimateIsLookup()) {
+            step.ids = query.candidates(library);
+            if (step.ids != null) step.estimate = step.ids.size();
+        } else {
+            step.estimate = query.estimate(library);
+        }
+        return step;
+    }
+
+    private PostingList lookup(Step step) {
+        if (step.ids == null) step.ids = step.query.candidates(library);
+        return step.ids;
+    }
+
+    private void stepLine(StringBuilder out, Step step, int depth, String action) {
+        indent(out, depth).append(action).append(": ").append(describe(step)).append('\n');
+        out.append(step.subPlan);
+    }
+
+    private void filterLine(Step step, int depth, String reason) {
+        line(depth, "FILTER: " + step.query + " (" + reason + ")");
+    }
+
+    private static String describe(Step step) {
+        String source = step.subPlan.isEmpty() ? step.query.indexName() : "sub-plan";
+        return step.query + " [" + source + ", est " + step.estimate + "]";
+    }
+
+    private void line(int depth, String text) {
+        indent(explain, depth).append(text).append('\n');
+    }
+
+    private static StringBuilder indent(StringBuilder out, int depth) {
+        for (int i = 0; i < depth; i++) out.append(INDENT);
+        return out;
+    }
+}
@@ -37,6 +37,7 @@ public class UndoAction {
     private final Member member;       // ilgili üye (varsa)
     private final LoanRecord loanRecord; // ilgili loan (BORROW/RETURN için)
     private String description;        // yapılan işlemi anlatan metin
+    private final long estimatedBytes; // UndoManager bellek bütçesi için tahmini boyut
 
     public UndoAction(ActionType type, LibrarySystem library, Book book, Member member, LoanRecord loanRecord) {
         this.type = type;
@@ -45,6 +46,37 @@ public class UndoAction {
         this.member = member;
         this.loanRecord = loanRecord;
         this.description = buildDescription();
+        this.estimatedBytes = estimateBytes();
+    }
+
+    /**
+     * Approximate memory kept alive by this action, used by UndoManager's byte budget.
+     * Time Complexity: O(1) (computed once in the constructor)
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Rough retained-size estimate (64-bit JVM, compressed references):
+     * the action itself plus its description, plus the removed Book/Member for
+     * REMOVE_* actions, since after removal only the undo history still references them.
+     * Books/Members still in the library and loan records are shared, so they are not counted.
+     */
+    private long estimateBytes() {
+        long bytes = 48 + stringBytes(description);
+        if (type == ActionType.REMOVE_BOOK && book != null) {
+            bytes += 96 + stringBytes(book.getIsbn()) + stringBytes(book.getTitle())
+                    + stringBytes(book.getAuthor()) + stringBytes(book.getCategory());
+        } else if (type == ActionType.REMOVE_MEMBER && member != null) {
+            bytes += 64 + stringBytes(member.getName())
+                    + 32L * (member.getActiveBooks().size() + member.getLoanHistory().size());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String s) {
+        return s == null ? 0 : 40 + 2L * s.length();
     }
 
     /**
@@ -146,6 +178,7 @@ public class UndoAction {
                         if (book.canBeBorrowed()) {
                             boolean taken = book.borrowCopy();
                             if (taken) {
+                                library.popularityChanged(book);
                                 // üye seviyesinde borrow yap (member.borrowBook kitap için yeni LoanRecord oluşturur)
                                 LoanRecord newLoan = member.borrowBook(book);
                                 // yeni loan record'u library'nin loanHistory'sine ekleyebiliriz eğer erişim varsa.
@@ -200,8 +233,7 @@ public class UndoAction {
     private LoanRecord findLoanForMemberBook(Member member, Book book) {
         try {
             // önce aktif loanları kontrol et
-            for (int i = 0; i < member.getLoanHistory().size(); i++) {
-                LoanRecord lr = member.getLoanHistory().get(i);
+            for (LoanRecord lr : member.getLoanHistory()) {
                 if (lr.getBook().equals(book) && !lr.isReturned()) return lr;
             }
         } catch (Exception ignored) {}
@@ -10,9 +10,15 @@ import dataStructure.stack.MyStack;
  * Why Stack: Most recent operations should be undone first. Stack provides perfect LIFO behavior.
  * 
  * COMPLEXITY:
- * - Push: O(1)
+ * - Push: O(1) (plus O(1) per evicted action)
  * - Pop/Undo: O(1) + complexity of the specific undo operation
  * 
+ * MEMORY BOUNDS:
+ * Every UndoAction keeps strong references to Books, Members and LoanRecords, so an
+ * unbounded history slowly leaks memory in a long-running process. The history is capped
+ * by action count (bounded MyStack) and by an estimated byte budget
+ * (UndoAction.estimatedBytes()). When either limit is exceeded the OLDEST actions are evicted.
+ * 
  * EDGE CASE HANDLING:
  * - Empty stack: Returns false from hasUndo() and prints message in undo()
  */
@@ -22,12 +28,26 @@ public class UndoManager {
      * Singleton instance to ensure single undo manager across system.
      */
     private static UndoManager instance = new UndoManager();
+
+    /**
+     * Default limits: enough for an interactive session, small enough for a server.
+     */
+    public static final int DEFAULT_MAX_ACTIONS = 1000;
+    public static final long DEFAULT_BYTE_BUDGET = 4L * 1024 * 1024;
     
     /**
      * DATA STRUCTURE: Stack for Undo Operations
      * Stores actions in LIFO order - most recent action is undone first.
+     * Bounded: pushing onto a full stack evicts the oldest action.
      */
-    private MyStack<UndoAction> stack = new MyStack<>();
+    private MyStack<UndoAction> stack = new MyStack<>(DEFAULT_MAX_ACTIONS);
+
+    private long byteBudget = DEFAULT_BYTE_BUDGET;
+
+    /**
+     * Sum of estimatedBytes() over the actions currently on the stack.
+     */
+    private long usedBytes = 0;
 
     /**
      * Private constructor for singleton pattern.
@@ -51,7 +71,73 @@ public class UndoManager {
      * @param action The action to record for potential undo
      */
     public void push(UndoAction action) {
-        stack.push(action);
+        if (action == null) return;
+        UndoAction evicted = stack.push(action);
+        usedBytes += action.estimatedBytes();
+        if (evicted != null) usedBytes -= evicted.estimatedBytes();
+        enforceByteBudget();
+    }
+
+    /**
+     * Evict oldest actions until the estimated size fits the budget.
+     * The most recent action is always kept so the last operation can still be undone.
+     */
+    private void enforceByteBudget() {
+        while (usedBytes > byteBudget && stack.size() > 1) {
+            UndoAction oldest = stack.removeBottom();
+            usedBytes -= oldest.estimatedBytes();
+        }
+    }
+
+    /**
+     * Change the maximum number of undoable actions. Keeps the most recent ones.
+     * Time Complexity: O(n)
+     *
+     * @param maxActions New limit (must be positive)
+     */
+    public void setMaxActions(int maxActions) {
+        if (maxActions <= 0) throw new IllegalArgumentException("maxActions must be positive");
+        MyStack<UndoAction> resized = new MyStack<>(maxActions);
+        // Oldest first, so the bounded stack evicts exactly the actions beyond the new limit
+        while (!stack.isEmpty()) {
+            UndoAction oldest = stack.removeBottom();
+            UndoAction evicted = resized.push(oldest);
+            if (evicted != null) usedBytes -= evicted.estimatedBytes();
+        }
+        stack = resized;
+    }
+
+    /**
+     * Change the estimated memory budget for undo history, evicting oldest actions if needed.
+     *
+     * @param bytes New budget in bytes (must be positive)
+     */
+    public void setByteBudget(long bytes) {
+        if (bytes <= 0) throw new IllegalArgumentException("Byte budget must be positive");
+        this.byteBudget = bytes;
+        enforceByteBudget();
+    }
+
+    public int getMaxActions() {
+        return stack.getMaxSize();
+    }
+
+    public long getByteBudget() {
+        return byteBudget;
+    }
+
+    /**
+     * @return estimated bytes held by the current undo history
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * @return number of actions that can currently be undone
+     */
+    public int size() {
+        return stack.size();
     }
 
     /**
@@ -67,6 +153,7 @@ public class UndoManager {
         }
 
         UndoAction a = stack.pop();
+        usedBytes -= a.estimatedBytes();
         a.undo();   // Execute the undo operation
         return a.getDescription();
     }
@@ -0,0 +1,97 @@
+package dataStructure.hashtable;
+
+/**
+ * BloomFilter - Probabilistic set membership test for String keys.
+ *
+ * PURPOSE: Answer "definitely not present" without touching the real index.
+ * Used in LibrarySystem in front of the ISBN index, so importing a feed of mostly new
+ * books rejects duplicates cheaply: a negative answer never needs a hash table lookup.
+ *
+ * DATA STRUCTURE: Bit array (long[]) + k hash functions
+ * mightContain() == false  -> key was never added (no false negatives)
+ * mightContain() == true   -> key was probably added (false positive rate ~ target)
+ *
+ * Sizing: for n expected keys and false positive rate p,
+ * bits m = -n ln p / (ln 2)^2 and hash count k = (m / n) ln 2.
+ * The k indexes come from two base hashes (double hashing: h1 + i * h2), so a key is hashed
+ * only twice no matter how large k is.
+ *
+ * COMPLEXITY ANALYSIS:
+ * - add / mightContain: O(k)
+ * - memory: m bits, about 9.6 bits per key at p = 1%
+ *
+ * Keys cannot be removed. After removals or more than expectedInsertions adds the false
+ * positive rate rises; the owner rebuilds the filter (isSaturated()).
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final int numBits;
+    private final int numHashes;
+    private final int expectedInsertions;
+    private int insertions;
+
+    /**
+     * @param expectedInsertions Number of keys the filter is sized for
+     * @param falsePositiveRate Target false positive rate, in (0, 1)
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        int n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+
+        this.numBits = (int) m;
+        this.numHashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.bits = new long[(numBits + 63) >>> 6];
+        this.expectedInsertions = n;
+    }
+
+    public void add(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x5BD1E995) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * @return false if key was definitely never added
+     */
+    public boolean mightContain(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x5BD1E995) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * True once more keys were added than the filter was sized for.
+     */
+    public boolean isSaturated() {
+        return insertions > expectedInsertions;
+    }
+
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Murmur3 fmix32 finalizer: spreads String.hashCode() over all 32 bits.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,288 @@
+package dataStructure.hashtable;
+
+import dataStructure.linkedList.MyLinkedList;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConcurrentHashTable - Thread-safe hash table with lock striping.
+ *
+ * PURPOSE: Serve lookups from many threads at once.
+ * Used in LibrarySystem (when built with concurrentIdReads) as the read path of
+ * searchById / getBook / getMember, mirroring bookTable and memberTable.
+ * Covers the IntHashTable methods LibrarySystem uses on those tables (presized
+ * constructor, ensureCapacity, put, get, remove, size, values, keySet).
+ *
+ * DATA STRUCTURE: Array of independent segments, each a chained hash table
+ * guarded by its own lock (lock striping).
+ * - put/remove: lock only the segment that owns the key, so writers on different
+ *   segments never wait for each other.
+ * - get: lock-free. Bucket heads are read through AtomicReferenceArray (volatile reads)
+ *   and node links/values are volatile, so a reader always sees a consistent chain.
+ * - Each segment holds its own ReentrantLock (composition, not inheritance).
+ * - resize: per segment, under that segment's lock. The new bucket array is filled with
+ *   copied nodes and then published with a single volatile write, so readers keep using
+ *   the old array until the new one is complete. Other segments keep serving writes.
+ *
+ * COMPLEXITY ANALYSIS:
+ * - get/put/remove: O(1) average case
+ * - Resize: O(n / SEGMENT_COUNT) per segment
+ * - ensureCapacity: O(n), one segment locked at a time
+ * - size(): O(SEGMENT_COUNT), a moving snapshot while writers are active
+ *
+ * UNIQUE STUDENT ID INTEGRATION:
+ * Uses hashSalt (student ID) in the hash function, same as HashTable.
+ */
+public class ConcurrentHashTable<K, V> {
+
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * One lock stripe: a small chained table plus the lock that guards its writers.
+     */
+    private static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile AtomicReferenceArray<Node<K, V>> table;
+        volatile int count;
+
+        Segment(int initialCapacity) {
+            table = new AtomicReferenceArray<>(initialCapacity);
+        }
+    }
+
+    /**
+     * Number of lock stripes. Power of two so the segment is picked by a shift.
+     */
+    private static final int SEGMENT_COUNT = 16;
+    private static final int SEGMENT_SHIFT = 28;
+    private static final int INITIAL_SEGMENT_CAPACITY = 4;
+
+    /**
+     * Load factor threshold per segment.
+     */
+    private static final double LOAD_FACTOR_THRESHOLD = 0.75;
+
+    private final int hashSalt;
+
+    private final Segment<K, V>[] segments;
+
+    public ConcurrentHashTable() {
+        this(0);
+    }
+
+    public ConcurrentHashTable(int salt) {
+        this(salt, 0);
+    }
+
+    /**
+     * Presized table: each segment starts large enough for its share of expectedSize
+     * entries, so loading that many keys does not resize.
+     *
+     * @param salt Hash salt
+     * @param expectedSize Number of entries the caller is about to insert
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentHashTable(int salt, int expectedSize) {
+        this.hashSalt = salt;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[SEGMENT_COUNT];
+        int segmentCapacity = segmentCapacityFor(expectedSize);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>(segmentCapacity);
+        }
+    }
+
+    /**
+     * Smallest power of two per segment that holds expectedSize / SEGMENT_COUNT entries
+     * below the load factor threshold, with 25% headroom for uneven segments.
+     */
+    private static int segmentCapacityFor(int expectedSize) {
+        int perSegment = expectedSize / SEGMENT_COUNT + expectedSize / (SEGMENT_COUNT * 4);
+        int needed = (int) (perSegment / LOAD_FACTOR_THRESHOLD) + 1;
+        int cap = INITIAL_SEGMENT_CAPACITY;
+        while (cap < needed) cap <<= 1;
+        return cap;
+    }
+
+    private void validateKey(K key) {
+        if (key == null) throw new IllegalArgumentException("Key cannot be null");
+    }
+
+    /**
+     * Salted hash, spread so both the high bits (segment) and low bits (bucket) vary.
+     */
+    private int hash(K key) {
+        int h = key.hashCode() ^ hashSalt;
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[hash >>> SEGMENT_SHIFT];
+    }
+
+    public int size() {
+        int total = 0;
+        for (Segment<K, V> s : segments) total += s.count;
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Lock-free lookup.
+     * Time Complexity: O(1) average
+     */
+    public V get(K key) {
+        validateKey(key);
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = segmentFor(h).table;
+        Node<K, V> node = tab.get(h & (tab.length() - 1));
+        while (node != null) {
+            if (node.hash == h && node.key.equals(key)) return node.value;
+            node = node.next;
+        }
+        return null;
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    public void put(K key, V value) {
+        validateKey(key);
+        int h = hash(key);
+        Segment<K, V> seg = segmentFor(h);
+        seg.lock.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> tab = seg.table;
+            int index = h & (tab.length() - 1);
+            Node<K, V> head = tab.get(index);
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                if (node.hash == h && node.key.equals(key)) {
+                    node.value = value;
+                    return;
+                }
+            }
+            // Fully built node is published by the volatile array write
+            tab.set(index, new Node<>(h, key, value, head));
+            seg.count = seg.count + 1;
+
+            if ((1.0 * seg.count) / tab.length() >= LOAD_FACTOR_THRESHOLD) {
+                resize(seg, tab.length() * 2);
+            }
+        } finally {
+            seg.lock.unlock();
+        }
+    }
+
+    public V remove(K key) {
+        validateKey(key);
+        int h = hash(key);
+        Segment<K, V> seg = segmentFor(h);
+        seg.lock.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> tab = seg.table;
+            int index = h & (tab.length() - 1);
+            Node<K, V> prev = null;
+            for (Node<K, V> node = tab.get(index); node != null; node = node.next) {
+                if (node.hash == h && node.key.equals(key)) {
+                    // Readers already on this node still reach the rest of the chain via node.next
+                    if (prev == null) {
+                        tab.set(index, node.next);
+                    } else {
+                        prev.next = node.next;
+                    }
+                    seg.count = seg.count - 1;
+                    return node.value;
+                }
+                prev = node;
+            }
+            return null;
+        } finally {
+            seg.lock.unlock();
+        }
+    }
+
+    /**
+     * Make room for expectedSize entries, so the following puts never resize.
+     * Segments are grown one at a time; the others keep serving writes meanwhile.
+     * Time Complexity: O(n) if the table grows, O(SEGMENT_COUNT) otherwise
+     */
+    public void ensureCapacity(int expectedSize) {
+        int needed = segmentCapacityFor(expectedSize);
+        for (Segment<K, V> seg : segments) {
+            if (seg.table.length() >= needed) continue;
+            seg.lock.lock();
+            try {
+                if (seg.table.length() < needed) resize(seg, needed);
+            } finally {
+                seg.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Grow one segment's table to newLength (a power of two). Caller holds the segment lock.
+     * Nodes are copied rather than relinked so concurrent readers of the old
+     * table never observe a half-moved chain.
+     */
+    private void resize(Segment<K, V> seg, int newLength) {
+        AtomicReferenceArray<Node<K, V>> oldTab = seg.table;
+        AtomicReferenceArray<Node<K, V>> newTab = new AtomicReferenceArray<>(newLength);
+
+        for (int i = 0; i < oldTab.length(); i++) {
+            for (Node<K, V> node = oldTab.get(i); node != null; node = node.next) {
+                int index = node.hash & (newLength - 1);
+                newTab.set(index, new Node<>(node.hash, node.key, node.value, newTab.get(index)));
+            }
+        }
+        seg.table = newTab;
+    }
+
+    /**
+     * Weakly consistent snapshot of the values (may miss concurrent updates).
+     */
+    public MyLinkedList<V> values() {
+        MyLinkedList<V> list = new MyLinkedList<>();
+        for (Segment<K, V> seg : segments) {
+            AtomicReferenceArray<Node<K, V>> tab = seg.table;
+            for (int i = 0; i < tab.length(); i++) {
+                for (Node<K, V> node = tab.get(i); node != null; node = node.next) {
+                    list.add(node.value);
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Weakly consistent snapshot of the keys (may miss concurrent updates).
+     */
+    public MyLinkedList<K> keySet() {
+        MyLinkedList<K> list = new MyLinkedList<>();
+        for (Segment<K, V> seg : segments) {
+            AtomicReferenceArray<Node<K, V>> tab = seg.table;
+            for (int i = 0; i < tab.length(); i++) {
+                for (Node<K, V> node = tab.get(i); node != null; node = node.next) {
+                    list.add(node.key);
+                }
+            }
+        }
+        return list;
+    }
+}
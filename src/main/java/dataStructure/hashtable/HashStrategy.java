@@ -0,0 +1,42 @@
+package dataStructure.hashtable;
+
+/**
+ * HashStrategy - Pluggable hash function and capacity policy for HashTable and IntHashTable.
+ *
+ * PURPOSE: Let each table choose how keys are spread over buckets, so the choice can be
+ * made from measurements (see HashTableAnalyzer) instead of being hard-coded.
+ *
+ * A strategy decides three things that must agree with each other:
+ * - how a key's hashCode is mixed with the salt (hash)
+ * - how a mixed hash is mapped to a bucket (indexFor)
+ * - which capacities are valid, e.g. primes for modulus, powers of two for masking (capacityFor)
+ *
+ * Implementations:
+ * - SaltedPrimeHashStrategy: salt XOR + prime modulus (HashTable's original scheme)
+ * - MultiplyShiftHashStrategy: salt XOR + multiply/shift + power-of-two mask (IntHashTable's original scheme)
+ * - MurmurMaskHashStrategy: murmur3 finalizer + power-of-two mask
+ */
+public interface HashStrategy {
+
+    /**
+     * Mix a key's hashCode with the table salt.
+     * The result is also used to order entries inside a TreeBin.
+     */
+    int hash(int keyHashCode, int salt);
+
+    /**
+     * Map a mixed hash to a bucket index in [0, capacity).
+     * Capacity is always a value previously returned by capacityFor().
+     */
+    int indexFor(int hash, int capacity);
+
+    /**
+     * Smallest valid capacity that is >= minCapacity.
+     */
+    int capacityFor(int minCapacity);
+
+    /**
+     * Short name used in analyzer reports.
+     */
+    String name();
+}
@@ -4,16 +4,37 @@ import dataStructure.linkedList.MyLinkedList;
 
 /**
  * HashTable - Hash table implementation with chaining for collision resolution.
- * 
+ *
  * PURPOSE: Fast O(1) average lookup, insertion, and deletion by key.
- * Used in LibrarySystem for:
- * - Book lookup by ID (O(1) average)
- * - Member lookup by ID (O(1) average)
- * 
+ * General-purpose map for object keys (int IDs use IntHashTable instead).
+ *
  * COMPLEXITY ANALYSIS:
- * - get/put/remove: O(1) average case, O(n) worst case (all collisions)
- * - Resize: O(n) when load factor threshold exceeded
- * 
+ * - get/put/remove: O(1) average case, O(log n) worst case (treeified bucket)
+ * - Resize (incremental mode, the default): O(1) per operation, spread over the following operations
+ * - Resize (full mode): O(n) when load factor threshold exceeded
+ *
+ * INCREMENTAL RESIZE:
+ * On by default (HashTable(salt, false) opts out). resize() only allocates the new bucket array. The old array stays alive
+ * and every put/get/remove migrates a few old buckets into the new one, so no single
+ * operation pays for rehashing the whole table. Lookups check the new array first and
+ * fall back to the (not yet migrated) old bucket.
+ *
+ * COLLISION-FLOOD PROTECTION:
+ * A chain that reaches TREEIFY_THRESHOLD nodes is converted into a TreeBin (AVL tree
+ * ordered by hash, then compareTo for Comparable keys), and converted back to a chain
+ * when it drops to UNTREEIFY_THRESHOLD. Skewed or adversarial keys (sequential member IDs,
+ * ISBN strings sharing a hash) therefore cost O(log n) per lookup instead of O(n).
+ *
+ * HASH STRATEGY:
+ * Hash mixing, bucket mapping and valid capacities come from a pluggable HashStrategy.
+ * The default SaltedPrimeHashStrategy is the original salt XOR + prime modulus scheme;
+ * MurmurMaskHashStrategy trades the division for a mask. HashTableAnalyzer reports how
+ * well the active strategy spreads a live table's keys.
+ *
+ * SHRINKING:
+ * After mass removals the table shrinks back (never below the initial capacity) so
+ * iteration and memory stay proportional to the live entries.
+ *
  * UNIQUE STUDENT ID INTEGRATION:
  * Uses hashSalt (student ID) to modify hash function, ensuring unique hash distribution
  * across different submissions. This prevents identical hash patterns.
@@ -29,48 +50,134 @@ public class HashTable<K, V> {
     private HashNode<K, V>[] buckets;
     private int capacity;
     private int size;
-    
+
+    /**
+     * Bucket array being drained during an incremental resize (null when no resize is running).
+     */
+    private HashNode<K, V>[] oldBuckets;
+    private int oldCapacity;
+
+    /**
+     * Next old bucket to migrate. Buckets below this index are already empty.
+     */
+    private int migrateIndex;
+
+    private boolean incrementalResize = true;
+
+    private HashStrategy strategy = new SaltedPrimeHashStrategy();
+
     /**
      * Load factor threshold for resizing.
      * When size/capacity >= 0.7, table is resized to maintain O(1) performance.
      */
     private final double loadFactorThreshold = 0.7;
 
+    /**
+     * Shrink when size/capacity drops below this value.
+     * A quarter of the grow threshold, so a grow followed by a few removals cannot flip-flop.
+     */
+    private final double shrinkThreshold = loadFactorThreshold / 4;
+
+    private static final int MIN_CAPACITY = 11;
+
+    /**
+     * Chain length at which a bucket is converted to a TreeBin.
+     */
+    static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * TreeBin size at which a bucket is converted back to a chain.
+     * Lower than TREEIFY_THRESHOLD so a bucket does not flip on every put/remove.
+     */
+    static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * Old buckets visited per operation during an incremental resize.
+     * Large enough that migration always finishes before the next resize is due.
+     */
+    private static final int MIGRATE_STEP = 16;
+
     @SuppressWarnings("unchecked")
     public HashTable() {
-        this.capacity = 11; 
+        this.capacity = minCapacity();
         this.buckets = new HashNode[capacity];
         this.size = 0;
     }
-    
+
     @SuppressWarnings("unchecked")
     public HashTable(int salt) {
-    this.capacity = 11;
+    this.capacity = minCapacity();
     this.buckets = new HashNode[capacity];
     this.size = 0;
     this.hashSalt = salt;
     }
 
+    /**
+     * @param salt Hash salt
+     * @param incrementalResize false to rehash all entries at once on resize
+     */
+    public HashTable(int salt, boolean incrementalResize) {
+        this(salt);
+        this.incrementalResize = incrementalResize;
+    }
+
+    /**
+     * Presized table: no resize happens until more than expectedSize entries are stored.
+     *
+     * @param salt Hash salt
+     * @param expectedSize Number of entries the caller is about to insert
+     */
+    @SuppressWarnings("unchecked")
+    public HashTable(int salt, int expectedSize) {
+        this.hashSalt = salt;
+        this.capacity = strategy.capacityFor(capacityForSize(expectedSize));
+        this.buckets = new HashNode[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * @param salt Hash salt
+     * @param strategy Hash function and capacity policy
+     */
+    @SuppressWarnings("unchecked")
+    public HashTable(int salt, HashStrategy strategy) {
+        if (strategy == null) throw new IllegalArgumentException("Strategy cannot be null");
+        this.hashSalt = salt;
+        this.strategy = strategy;
+        this.capacity = minCapacity();
+        this.buckets = new HashNode[capacity];
+        this.size = 0;
+    }
+
     private void validateKey(K key) {
         if (key == null) throw new IllegalArgumentException("Key cannot be null");
     }
 
+    /**
+     * Salted hash of a key. Also the primary ordering key inside a TreeBin.
+     * UNIQUE ID USAGE: the strategy mixes hashSalt (student ID) into every hash.
+     */
+    private int hash(K key) {
+        return strategy.hash(key.hashCode(), hashSalt);
+    }
+
    /**
-    * Calculate bucket index for a key using hash function with salt.
-    * UNIQUE ID USAGE: XOR with hashSalt (student ID) ensures unique hash distribution.
-    * 
+    * Calculate bucket index for a hash using the active strategy.
+    *
     * Time Complexity: O(1)
-    * 
-    * @param key The key to hash
-    * @return Bucket index (0 to capacity-1)
+    *
+    * @param h Salted hash from hash()
+    * @param tableCapacity Number of buckets in the target array
+    * @return Bucket index (0 to tableCapacity-1)
     */
-   private int getIndex(K key) {
-    int h = key.hashCode();
-    // XOR with student ID salt to ensure unique hash patterns per submission
-    h = h ^ hashSalt;
-    return Math.abs(h) % capacity;
+   private int indexFor(int h, int tableCapacity) {
+    return strategy.indexFor(h, tableCapacity);
 }
 
+    private int minCapacity() {
+        return strategy.capacityFor(MIN_CAPACITY);
+    }
+
     public int size() {
         return size;
     }
@@ -79,57 +186,183 @@ public class HashTable<K, V> {
         return size == 0;
     }
 
+    /**
+     * @return true while an incremental resize is still migrating buckets
+     */
+    public boolean isResizing() {
+        return oldBuckets != null;
+    }
+
+    public void setIncrementalResize(boolean enabled) {
+        if (!enabled) finishMigration();
+        this.incrementalResize = enabled;
+    }
+
+    public HashStrategy getHashStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Switch hash strategy. Rehashes every entry immediately.
+     * Time Complexity: O(n)
+     */
+    public void setHashStrategy(HashStrategy newStrategy) {
+        if (newStrategy == null) throw new IllegalArgumentException("Strategy cannot be null");
+        finishMigration();
+        this.strategy = newStrategy;
+
+        boolean incremental = incrementalResize;
+        incrementalResize = false;
+        resize(strategy.capacityFor(capacity));
+        incrementalResize = incremental;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Bucket array for HashTableAnalyzer. Completes any pending incremental resize first
+     * so every entry is in one array.
+     */
+    HashNode<K, V>[] settledBuckets() {
+        finishMigration();
+        return buckets;
+    }
+
     public void put(K key, V value) {
         validateKey(key);
 
-        int index = getIndex(key);
+        if (insert(key, value) && (1.0 * size) / capacity >= loadFactorThreshold) {
+            resize(strategy.capacityFor(2 * capacity));
+        }
+    }
+
+    /**
+     * Insert or update without the load-factor check (shared by put and putAll).
+     *
+     * @return true if a new entry was added
+     */
+    private boolean insert(K key, V value) {
+        int h = hash(key);
+        if (oldBuckets != null) {
+            // Move this key's old chain first so the key lives in exactly one array
+            migrateBucket(indexFor(h, oldCapacity));
+            migrateStep();
+        }
+
+        int index = indexFor(h, capacity);
         HashNode<K, V> head = buckets[index];
 
-        while (head != null) {
-            if (head.getKey().equals(key)) {
-                head.setValue(value);
-                return;
+        if (head instanceof TreeBin) {
+            if (!((TreeBin<K, V>) head).put(key, value, h)) return false;
+        } else {
+            int chainLength = 0;
+            while (head != null) {
+                if (head.getKey().equals(key)) {
+                    head.setValue(value);
+                    return false;
+                }
+                chainLength++;
+                head = head.getNext();
             }
-            head = head.getNext();
-        }
 
-        HashNode<K, V> newNode = new HashNode<>(key, value);
-        newNode.setNext(buckets[index]);
-        buckets[index] = newNode;
+            HashNode<K, V> newNode = new HashNode<>(key, value);
+            newNode.setNext(buckets[index]);
+            buckets[index] = newNode;
+
+            if (chainLength + 1 >= TREEIFY_THRESHOLD) {
+                treeifyBucket(index);
+            }
+        }
 
         size++;
+        return true;
+    }
 
-        if ((1.0 * size) / capacity >= loadFactorThreshold) {
-            resize();
+    /**
+     * Make room for expectedSize entries in one resize, so the following puts never rehash.
+     * In incremental mode the old buckets migrate during those puts.
+     * Time Complexity: O(1) per entry moved, O(n) at once in full mode
+     */
+    public void ensureCapacity(int expectedSize) {
+        int needed = strategy.capacityFor(capacityForSize(expectedSize));
+        if (needed > capacity) resize(needed);
+    }
+
+    /**
+     * Smallest bucket count that holds expectedSize entries below the load factor threshold.
+     */
+    private int capacityForSize(int expectedSize) {
+        return Math.max(MIN_CAPACITY, (int) (expectedSize / loadFactorThreshold) + 1);
+    }
+
+    /**
+     * Bulk copy of another table's entries, sized once up front.
+     * Time Complexity: O(n)
+     */
+    public void putAll(HashTable<K, V> other) {
+        MyLinkedList<K> otherKeys = other.keySet();
+        ensureCapacity(size + otherKeys.size());
+        for (K key : otherKeys) {
+            insert(key, other.get(key));
         }
     }
-    
+
 
     public V get(K key) {
         validateKey(key);
 
-        int index = getIndex(key);
-        HashNode<K, V> head = buckets[index];
+        if (oldBuckets != null) migrateStep();
 
+        int h = hash(key);
+        HashNode<K, V> node = findInBucket(buckets[indexFor(h, capacity)], key, h);
+        if (node == null && oldBuckets != null) {
+            node = findInBucket(oldBuckets[indexFor(h, oldCapacity)], key, h);
+        }
+        return node == null ? null : node.getValue();
+    }
+
+    private HashNode<K, V> findInBucket(HashNode<K, V> head, K key, int h) {
+        if (head instanceof TreeBin) {
+            return ((TreeBin<K, V>) head).find(key, h);
+        }
         while (head != null) {
             if (head.getKey().equals(key)) {
-                return head.getValue();
+                return head;
             }
             head = head.getNext();
         }
-
         return null;
     }
+
     public MyLinkedList<V> values() {
     MyLinkedList<V> list = new MyLinkedList<>();
 
     for (int i = 0; i < capacity; i++) {
         HashNode<K, V> head = buckets[i];
+        if (head instanceof TreeBin) {
+            ((TreeBin<K, V>) head).addValuesTo(list);
+            continue;
+        }
         while (head != null) {
             list.add(head.getValue());
             head = head.getNext();
         }
     }
+    if (oldBuckets != null) {
+        for (int i = migrateIndex; i < oldCapacity; i++) {
+            HashNode<K, V> head = oldBuckets[i];
+            if (head instanceof TreeBin) {
+                ((TreeBin<K, V>) head).addValuesTo(list);
+                continue;
+            }
+            while (head != null) {
+                list.add(head.getValue());
+                head = head.getNext();
+            }
+        }
+    }
     return list;
     }
     public MyLinkedList<K> keySet() {
@@ -137,21 +370,57 @@ public class HashTable<K, V> {
 
     for (int i = 0; i < capacity; i++) {
         HashNode<K, V> head = buckets[i];
+        if (head instanceof TreeBin) {
+            ((TreeBin<K, V>) head).addKeysTo(keys);
+            continue;
+        }
         while (head != null) {
             keys.add(head.getKey());
             head = head.getNext();
         }
     }
+    if (oldBuckets != null) {
+        for (int i = migrateIndex; i < oldCapacity; i++) {
+            HashNode<K, V> head = oldBuckets[i];
+            if (head instanceof TreeBin) {
+                ((TreeBin<K, V>) head).addKeysTo(keys);
+                continue;
+            }
+            while (head != null) {
+                keys.add(head.getKey());
+                head = head.getNext();
+            }
+        }
+    }
     return keys;
 }
 
    public V remove(K key) {
         validateKey(key);
 
-        int index = getIndex(key);
+        int h = hash(key);
+        if (oldBuckets != null) {
+            migrateBucket(indexFor(h, oldCapacity));
+            migrateStep();
+        }
+
+        int index = indexFor(h, capacity);
         HashNode<K, V> head = buckets[index];
         HashNode<K, V> prev = null;
 
+        if (head instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>) head;
+            TreeBin.TreeEntry<K, V> entry = bin.find(key, h);
+            if (entry == null) return null;
+            bin.remove(entry);
+            if (bin.size() <= UNTREEIFY_THRESHOLD) {
+                buckets[index] = bin.toChain();
+            }
+            size--;
+            maybeShrink();
+            return entry.getValue();
+        }
+
         while (head != null) {
             if (head.getKey().equals(key)) {
                 if (prev == null) {
@@ -160,6 +429,7 @@ public class HashTable<K, V> {
                     prev.setNext(head.getNext());
                 }
                 size--;
+                maybeShrink();
                 return head.getValue();
             }
             prev = head;
@@ -169,42 +439,109 @@ public class HashTable<K, V> {
         return null;
     }
 
+    private void maybeShrink() {
+        // Never start a shrink while a previous resize is still draining
+        int minCapacity = minCapacity();
+        if (oldBuckets != null || capacity <= minCapacity) return;
+        if ((1.0 * size) / capacity < shrinkThreshold) {
+            resize(Math.max(minCapacity, strategy.capacityFor(capacity / 2)));
+        }
+    }
 
+   /**
+    * Switch to a bucket array of newCapacity.
+    * Full mode relinks every node immediately (no node allocation).
+    * Incremental mode only swaps the arrays; migrateStep() moves the nodes later.
+    */
    @SuppressWarnings("unchecked")
-    private void resize() {
-        int oldCapacity = capacity;
-        capacity = nextPrime(2 * oldCapacity);
-
-        HashNode<K, V>[] oldBuckets = buckets;
-        buckets = new HashNode[capacity];
-        size = 0;
-
-        for (HashNode<K, V> headNode : oldBuckets) {
-            while (headNode != null) {
-                put(headNode.getKey(), headNode.getValue());
-                headNode = headNode.getNext();
-            }
+    private void resize(int newCapacity) {
+        // A resize that overlaps the previous one finishes the previous one first
+        finishMigration();
+
+        HashNode<K, V>[] previous = buckets;
+        int previousCapacity = capacity;
+
+        buckets = new HashNode[newCapacity];
+        capacity = newCapacity;
+
+        oldBuckets = previous;
+        oldCapacity = previousCapacity;
+        migrateIndex = 0;
+
+        if (!incrementalResize) {
+            finishMigration();
         }
     }
 
-     private boolean isPrime(int num) {
-        if (num <= 1) return false;
-        if (num <= 3) return true;
+    /**
+     * Migrate the next MIGRATE_STEP old buckets. Time Complexity: O(1) amortized.
+     */
+    private void migrateStep() {
+        for (int step = 0; step < MIGRATE_STEP && migrateIndex < oldCapacity; step++) {
+            migrateBucket(migrateIndex++);
+        }
+        if (migrateIndex >= oldCapacity) {
+            oldBuckets = null;
+            oldCapacity = 0;
+        }
+    }
 
-        if (num % 2 == 0 || num % 3 == 0) return false;
+    private void finishMigration() {
+        if (oldBuckets == null) return;
+        while (migrateIndex < oldCapacity) {
+            migrateBucket(migrateIndex++);
+        }
+        oldBuckets = null;
+        oldCapacity = 0;
+    }
 
-        for (int i = 5; i * i <= num; i += 6) {
-            if (num % i == 0 || num % (i + 2) == 0) return false;
+    /**
+     * Relink every node of one old bucket into the new bucket array.
+     * A TreeBin is flattened first; destination buckets are re-treeified if they grow long.
+     */
+    private void migrateBucket(int oldIndex) {
+        HashNode<K, V> node = oldBuckets[oldIndex];
+        oldBuckets[oldIndex] = null;
+        if (node instanceof TreeBin) {
+            node = ((TreeBin<K, V>) node).toChain();
+        }
+        while (node != null) {
+            HashNode<K, V> next = node.getNext();
+            int h = hash(node.getKey());
+            int index = indexFor(h, capacity);
+            HashNode<K, V> head = buckets[index];
+            if (head instanceof TreeBin) {
+                ((TreeBin<K, V>) head).put(node.getKey(), node.getValue(), h);
+            } else {
+                node.setNext(head);
+                buckets[index] = node;
+                if (chainLength(node) >= TREEIFY_THRESHOLD) treeifyBucket(index);
+            }
+            node = next;
         }
+    }
 
-        return true;
+    /**
+     * Length of a chain, counting at most TREEIFY_THRESHOLD nodes.
+     */
+    private int chainLength(HashNode<K, V> head) {
+        int length = 0;
+        while (head != null && length < TREEIFY_THRESHOLD) {
+            length++;
+            head = head.getNext();
+        }
+        return length;
     }
 
-    private int nextPrime(int num) {
-        while (!isPrime(num)) {
-            num++;
+    /**
+     * Replace the chain in buckets[index] with a TreeBin.
+     * Time Complexity: O(k log k) for a chain of k nodes
+     */
+    private void treeifyBucket(int index) {
+        TreeBin<K, V> bin = new TreeBin<>();
+        for (HashNode<K, V> node = buckets[index]; node != null; node = node.getNext()) {
+            bin.put(node.getKey(), node.getValue(), hash(node.getKey()));
         }
-        return num;
+        buckets[index] = bin;
     }
 }
-
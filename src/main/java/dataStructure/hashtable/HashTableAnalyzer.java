@@ -0,0 +1,350 @@
+package dataStructure.hashtable;
+
+import dataStructure.linkedList.MyLinkedList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * HashTableAnalyzer - Measures how evenly a HashTable or IntHashTable spreads its keys.
+ *
+ * PURPOSE: Choose a HashStrategy per table from evidence. analyze() inspects a live table;
+ * compare() / compareIntKeys() load the same keys into one table per candidate strategy
+ * and also time lookups. LibrarySystem.analyzeHashTables / tuneHashStrategies run them
+ * on the library's own tables.
+ *
+ * REPORTED METRICS:
+ * - HashTable: chain-length histogram (bucket count per chain length, last slot =
+ *   "HISTOGRAM_SLOTS-1 or more"), longest chain, number of treeified buckets
+ * - IntHashTable: probe-distance histogram (keys per distance from their home slot),
+ *   longest probe sequence
+ * - empty-bucket (empty-slot) ratio
+ * - average probes (key comparisons) for a successful and an unsuccessful lookup
+ *
+ * TIMING: lookups run in shuffled key order (no free cache locality from insertion order).
+ * compareIntKeys also times one lookup of a random absent key per stored key: linear
+ * probing hides clustering on hits (sequential IDs under a weak hash sit in their home
+ * slots) but pays for it on every miss and insert, so a hits-only timing would favor it.
+ * Warmup passes run first so the JIT has compiled the lookup path, then TIMED_PASSES
+ * passes are timed and the median is reported, which drops one-off GC or scheduling stalls.
+ *
+ * COMPLEXITY: O(capacity + n) per analyzed table
+ */
+public class HashTableAnalyzer {
+
+    /**
+     * Histogram slots: lengths 0..HISTOGRAM_SLOTS-2, plus one overflow slot.
+     */
+    public static final int HISTOGRAM_SLOTS = 10;
+
+    /**
+     * Untimed warmup: at least this many passes and this many lookups in total.
+     */
+    private static final int WARMUP_PASSES = 3;
+    private static final int WARMUP_LOOKUPS = 200_000;
+
+    private static final int TIMED_PASSES = 5;
+
+    /**
+     * Receives the lookup results so the JIT cannot drop the timed loops.
+     */
+    private static volatile int sink;
+
+    private HashTableAnalyzer() {
+    }
+
+    /**
+     * Bucket distribution snapshot of one table.
+     */
+    public static final class Report {
+        private final String strategyName;
+        private final int capacity;
+        private final int size;
+        private final int emptyBuckets;
+        private final int longestChain;
+        private final int treeBins;
+        private final int[] histogram;
+        private final String histogramLabel;
+        private final double avgProbesHit;
+        private final double avgProbesMiss;
+        private double nanosPerLookup = -1;
+
+        Report(String strategyName, int capacity, int size, int emptyBuckets, int longestChain,
+               int treeBins, int[] histogram, String histogramLabel,
+               double avgProbesHit, double avgProbesMiss) {
+            this.strategyName = strategyName;
+            this.capacity = capacity;
+            this.size = size;
+            this.emptyBuckets = emptyBuckets;
+            this.longestChain = longestChain;
+            this.treeBins = treeBins;
+            this.histogram = histogram;
+            this.histogramLabel = histogramLabel;
+            this.avgProbesHit = avgProbesHit;
+            this.avgProbesMiss = avgProbesMiss;
+        }
+
+        public String getStrategyName() { return strategyName; }
+        public int getCapacity() { return capacity; }
+        public int getSize() { return size; }
+        public int getEmptyBuckets() { return emptyBuckets; }
+        public double getEmptyBucketRatio() { return capacity == 0 ? 0 : (1.0 * emptyBuckets) / capacity; }
+        public int getLongestChain() { return longestChain; }
+        public int getTreeBins() { return treeBins; }
+        public int[] getHistogram() { return histogram.clone(); }
+
+        /**
+         * What the histogram counts: "chain lengths" (HashTable) or "probe distances" (IntHashTable).
+         */
+        public String getHistogramLabel() { return histogramLabel; }
+        public double getAvgProbesHit() { return avgProbesHit; }
+        public double getAvgProbesMiss() { return avgProbesMiss; }
+
+        /**
+         * @return median lookup time over the timed passes, or -1 if the report was not
+         *         produced by compare() / compareIntKeys()
+         */
+        public double getNanosPerLookup() { return nanosPerLookup; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Strategy: ").append(strategyName)
+              .append(" | size=").append(size)
+              .append(" | capacity=").append(capacity)
+              .append(String.format(" | empty=%.1f%%", 100 * getEmptyBucketRatio()))
+              .append(" | longest=").append(longestChain)
+              .append(" | treeBins=").append(treeBins)
+              .append(String.format(" | probes hit=%.2f miss=%.2f", avgProbesHit, avgProbesMiss));
+            if (nanosPerLookup >= 0) sb.append(String.format(" | %.1f ns/lookup", nanosPerLookup));
+            sb.append("\n  ").append(histogramLabel).append(':');
+            for (int i = 0; i < histogram.length; i++) {
+                sb.append(' ').append(i == histogram.length - 1 ? i + "+" : String.valueOf(i))
+                  .append('=').append(histogram[i]);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Analyze the bucket distribution of a live table.
+     * Completes a pending incremental resize so every entry is counted once.
+     */
+    public static <K, V> Report analyze(HashTable<K, V> table) {
+        HashNode<K, V>[] buckets = table.settledBuckets();
+        int[] histogram = new int[HISTOGRAM_SLOTS];
+        int empty = 0;
+        int longest = 0;
+        int treeBins = 0;
+        long hitProbes = 0;
+        long missProbes = 0;
+
+        for (HashNode<K, V> head : buckets) {
+            int length;
+            if (head instanceof TreeBin) {
+                TreeBin<K, V> bin = (TreeBin<K, V>) head;
+                treeBins++;
+                length = bin.size();
+                hitProbes += bin.sumOfDepths();
+                missProbes += bin.height();
+            } else {
+                length = 0;
+                for (HashNode<K, V> node = head; node != null; node = node.getNext()) length++;
+                // i-th node of a chain costs i comparisons to find
+                hitProbes += (long) length * (length + 1) / 2;
+                missProbes += length;
+            }
+            if (length == 0) empty++;
+            if (length > longest) longest = length;
+            histogram[Math.min(length, HISTOGRAM_SLOTS - 1)]++;
+        }
+
+        int size = table.size();
+        return new Report(table.getHashStrategy().name(), buckets.length, size, empty, longest, treeBins,
+                histogram, "chain lengths",
+                size == 0 ? 0 : (1.0 * hitProbes) / size,
+                buckets.length == 0 ? 0 : (1.0 * missProbes) / buckets.length);
+    }
+
+    /**
+     * Analyze the slot layout of a live IntHashTable.
+     * Completes a pending incremental resize so every entry is counted once.
+     */
+    public static <V> Report analyze(IntHashTable<V> table) {
+        int[] distances = table.settledProbeDistances();
+        int capacity = distances.length;
+        int[] histogram = new int[HISTOGRAM_SLOTS];
+        int empty = 0;
+        int longest = 0;
+        long hitProbes = 0;
+        int someEmpty = -1;
+
+        for (int i = 0; i < capacity; i++) {
+            int d = distances[i];
+            if (d < 0) {
+                empty++;
+                someEmpty = i;
+                continue;
+            }
+            // a key d slots past its home slot costs d + 1 comparisons to find
+            hitProbes += d + 1;
+            if (d + 1 > longest) longest = d + 1;
+            histogram[Math.min(d, HISTOGRAM_SLOTS - 1)]++;
+        }
+
+        // A miss starting at slot i probes the occupied run from i up to the next empty slot.
+        // Walk backwards from an empty slot so each run length is known in one pass.
+        long missProbes = 0;
+        if (someEmpty >= 0) {
+            int run = 0;
+            for (int step = 1; step <= capacity; step++) {
+                int i = someEmpty - step;
+                if (i < 0) i += capacity;
+                run = distances[i] < 0 ? 0 : run + 1;
+                missProbes += run + 1;
+            }
+        }
+
+        int size = table.size();
+        return new Report(table.getHashStrategy().name(), capacity, size, empty, longest, 0,
+                histogram, "probe distances",
+                size == 0 ? 0 : (1.0 * hitProbes) / size,
+                capacity == 0 ? 0 : (1.0 * missProbes) / capacity);
+    }
+
+    /**
+     * Load the same keys into one table per strategy and report distribution plus lookup time.
+     * Time Complexity: O(s * n) for s strategies and n keys
+     *
+     * @param keys Keys to load (e.g. bookTable.keySet() of a real catalog)
+     * @param salt Salt used by the table being evaluated
+     * @param strategies Candidate strategies
+     * @return One report per strategy, in the given order
+     */
+    public static <K> List<Report> compare(MyLinkedList<K> keys, int salt, HashStrategy... strategies) {
+        // Copy once so the timed loop measures the table, not list traversal
+        List<K> keyList = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            keyList.add(key);
+        }
+
+        List<Report> reports = new ArrayList<>();
+        for (HashStrategy strategy : strategies) {
+            HashTable<K, Boolean> table = new HashTable<>(salt, strategy);
+            for (K key : keyList) {
+                table.put(key, Boolean.TRUE);
+            }
+            Report report = analyze(table);
+
+            // Shuffle after loading so lookups do not follow insertion order
+            List<K> lookupOrder = new ArrayList<>(keyList);
+            Collections.shuffle(lookupOrder, new Random(salt));
+            report.nanosPerLookup = nanosPerLookup(() -> {
+                int found = 0;
+                for (K key : lookupOrder) {
+                    if (table.get(key) != null) found++;
+                }
+                return found;
+            }, lookupOrder.size());
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    /**
+     * compare() for int keys: one IntHashTable per strategy.
+     * The reported time is per lookup over n hits and n misses.
+     * Time Complexity: O(s * n) for s strategies and n keys
+     *
+     * @param keys Keys to load (e.g. the ID keySet of a live IntHashTable)
+     * @param salt Salt used by the table being evaluated
+     * @param strategies Candidate strategies
+     * @return One report per strategy, in the given order
+     */
+    public static List<Report> compareIntKeys(MyLinkedList<Integer> keys, int salt, HashStrategy... strategies) {
+        int[] keyArray = new int[keys.size()];
+        int n = 0;
+        for (Integer key : keys) {
+            keyArray[n++] = key;
+        }
+
+        List<Report> reports = new ArrayList<>();
+        for (HashStrategy strategy : strategies) {
+            IntHashTable<Boolean> table = new IntHashTable<>(salt, strategy);
+            for (int key : keyArray) {
+                table.put(key, Boolean.TRUE);
+            }
+            Report report = analyze(table);
+
+            int[] lookupOrder = shuffled(keyArray, salt);
+            int[] absent = absentKeys(table, keyArray.length, salt);
+            report.nanosPerLookup = nanosPerLookup(() -> {
+                int found = 0;
+                for (int key : lookupOrder) {
+                    if (table.get(key) != null) found++;
+                }
+                for (int key : absent) {
+                    if (table.get(key) != null) found++;
+                }
+                return found;
+            }, lookupOrder.length + absent.length);
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    /**
+     * Run warmup passes, then TIMED_PASSES timed passes.
+     *
+     * @param pass One lookup pass over all keys, returning the number of hits
+     * @return Median nanoseconds per lookup
+     */
+    private static double nanosPerLookup(IntSupplier pass, int lookups) {
+        if (lookups == 0) return 0;
+        int found = 0;
+        long warmed = 0;
+        for (int i = 0; i < WARMUP_PASSES || warmed < WARMUP_LOOKUPS; i++) {
+            found += pass.getAsInt();
+            warmed += lookups;
+        }
+
+        long[] times = new long[TIMED_PASSES];
+        for (int i = 0; i < TIMED_PASSES; i++) {
+            long start = System.nanoTime();
+            found += pass.getAsInt();
+            times[i] = System.nanoTime() - start;
+        }
+        sink = found;
+        Arrays.sort(times);
+        return (1.0 * times[TIMED_PASSES / 2]) / lookups;
+    }
+
+    /**
+     * count random keys that are not in table (same keys for every strategy: fixed seed).
+     */
+    private static int[] absentKeys(IntHashTable<?> table, int count, int seed) {
+        int[] absent = new int[count];
+        Random random = new Random(seed);
+        for (int i = 0; i < count; ) {
+            int key = random.nextInt();
+            if (!table.containsKey(key)) absent[i++] = key;
+        }
+        return absent;
+    }
+
+    private static int[] shuffled(int[] keys, int seed) {
+        int[] copy = keys.clone();
+        Random random = new Random(seed);
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = tmp;
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,497 @@
+package dataStructure.hashtable;
+
+import dataStructure.linkedList.MyLinkedList;
+
+/**
+ * IntHashTable - Open-addressing hash table specialized for primitive int keys.
+ *
+ * PURPOSE: Hot-path lookup of books and members by their int ID.
+ * Used in LibrarySystem for:
+ * - Book lookup by ID (searchById, borrowBook, returnBook)
+ * - Member lookup by ID (getMember, borrowBook, returnBook)
+ *
+ * DATA STRUCTURE: Linear probing over flat arrays (int[] keys + V[] values)
+ * Why open addressing: HashTable<Integer, V> boxes every key and allocates a HashNode
+ * per entry, so each lookup chases pointers across the heap. Here a lookup is a scan
+ * over adjacent array slots, with no boxing and no per-entry allocation.
+ *
+ * COMPLEXITY ANALYSIS:
+ * - get/put/remove: O(1) average (load factor kept below 0.5)
+ * - Resize (incremental mode, the default): O(1) per operation, spread over the following operations
+ * - Resize (full mode): O(n) when load factor threshold exceeded
+ *
+ * Hash mixing, slot mapping and valid capacities come from a pluggable HashStrategy
+ * (default MultiplyShiftHashStrategy, the original multiply/shift + mask scheme), so
+ * HashTableAnalyzer can measure and LibrarySystem can switch the ID tables' strategy.
+ * Probing wraps at capacity instead of masking, so prime capacities work as well.
+ *
+ * DELETION: Backward-shift deletion instead of tombstones, so long-lived tables with
+ * many removals do not slowly fill up with dead slots.
+ *
+ * SHRINKING (same policy as HashTable):
+ * After mass removals (e.g. removeBook/removeMember on a large catalog) the table halves
+ * once the load drops below a quarter of the resize threshold, never below the default
+ * capacity, so iteration and memory stay proportional to the live entries. A shrink is a
+ * resize like any other and migrates incrementally.
+ *
+ * INCREMENTAL RESIZE (same scheme as HashTable):
+ * A resize only allocates the new arrays. The old arrays stay alive and every
+ * put/get/remove moves the next MIGRATE_STEP old slots into the new ones, so loading
+ * millions of IDs never stops for a full rehash. Lookups check the new arrays first and
+ * fall back to the old ones. A key lives in exactly one of them: put/remove move or drop
+ * a key found in the old arrays right away. Old slots are emptied with a MOVED marker
+ * rather than a backward shift, so keys still waiting in the old arrays stay reachable.
+ *
+ * A slot is empty when its value is null, therefore null values are not allowed.
+ *
+ * UNIQUE STUDENT ID INTEGRATION:
+ * Uses hashSalt (student ID) in the hash mix, same as HashTable.
+ */
+public class IntHashTable<V> {
+
+    /**
+     * Hash salt (student ID) mixed into every key before probing.
+     */
+    private int hashSalt = 0;
+
+    private int[] keys;
+    private V[] values;
+
+    /**
+     * Always a value returned by strategy.capacityFor (a power of two for the default).
+     */
+    private int capacity;
+    private int size;
+
+    private HashStrategy strategy = new MultiplyShiftHashStrategy();
+
+    /**
+     * Load factor threshold for resizing.
+     * Linear probing degrades quickly above ~0.7, 0.5 keeps probe sequences short.
+     */
+    private static final double LOAD_FACTOR_THRESHOLD = 0.5;
+
+    /**
+     * Load factor below which remove() halves the table.
+     */
+    private static final double SHRINK_THRESHOLD = LOAD_FACTOR_THRESHOLD / 4;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Old slots migrated per operation during an incremental resize.
+     * The table doubles at load 0.5 and halves below load 0.125, so the next resize is at
+     * least capacity / 4 operations away; 16 slots per operation drain the old array
+     * (at most 2 * capacity slots) within capacity / 8 operations.
+     */
+    private static final int MIGRATE_STEP = 16;
+
+    /**
+     * Marks an old slot whose entry was migrated or removed: occupied for probing, no entry.
+     */
+    private static final Object MOVED = new Object();
+
+    /**
+     * Arrays being drained during an incremental resize (null when no resize is running).
+     */
+    private int[] oldKeys;
+    private Object[] oldValues;
+    private int oldCapacity;
+
+    /**
+     * Next old slot to migrate. Slots below this index are already migrated.
+     */
+    private int migrateIndex;
+
+    private boolean incrementalResize = true;
+
+    public IntHashTable() {
+        this(0);
+    }
+
+    public IntHashTable(int salt) {
+        this.hashSalt = salt;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param salt Hash salt
+     * @param incrementalResize false to rehash all entries at once on resize
+     */
+    public IntHashTable(int salt, boolean incrementalResize) {
+        this(salt);
+        this.incrementalResize = incrementalResize;
+    }
+
+    /**
+     * Presized table: no resize happens until more than expectedSize entries are stored.
+     *
+     * @param salt Hash salt
+     * @param expectedSize Number of entries the caller is about to insert
+     */
+    public IntHashTable(int salt, int expectedSize) {
+        this.hashSalt = salt;
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @param salt Hash salt
+     * @param strategy Hash function and capacity policy
+     */
+    public IntHashTable(int salt, HashStrategy strategy) {
+        if (strategy == null) throw new IllegalArgumentException("Strategy cannot be null");
+        this.hashSalt = salt;
+        this.strategy = strategy;
+        allocate(capacityFor(0));
+    }
+
+    /**
+     * Smallest valid capacity that holds expectedSize entries below the load factor threshold.
+     */
+    private int capacityFor(int expectedSize) {
+        int needed = (int) (expectedSize / LOAD_FACTOR_THRESHOLD) + 1;
+        return strategy.capacityFor(Math.max(needed, DEFAULT_CAPACITY));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        this.keys = new int[newCapacity];
+        this.values = (V[]) new Object[newCapacity];
+    }
+
+    /**
+     * Calculate home slot for a key.
+     * UNIQUE ID USAGE: the strategy mixes hashSalt (student ID) into every key.
+     * The default multiply/shift finalizer spreads sequential IDs across the table,
+     * which matters because masking would otherwise keep only the low bits.
+     *
+     * Time Complexity: O(1)
+     */
+    private int getIndex(int key) {
+        return strategy.indexFor(strategy.hash(key, hashSalt), capacity);
+    }
+
+    private int nextSlot(int index) {
+        return ++index == capacity ? 0 : index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return true while an incremental resize is still migrating slots
+     */
+    public boolean isResizing() {
+        return oldValues != null;
+    }
+
+    public void setIncrementalResize(boolean enabled) {
+        if (!enabled) finishMigration();
+        this.incrementalResize = enabled;
+    }
+
+    public HashStrategy getHashStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Switch hash strategy. Rehashes every entry immediately.
+     * Time Complexity: O(n)
+     */
+    public void setHashStrategy(HashStrategy newStrategy) {
+        if (newStrategy == null) throw new IllegalArgumentException("Strategy cannot be null");
+        finishMigration();
+        this.strategy = newStrategy;
+
+        boolean incremental = incrementalResize;
+        incrementalResize = false;
+        rehash(strategy.capacityFor(capacity));
+        incrementalResize = incremental;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Probe distance of every slot for HashTableAnalyzer: 0 for a key in its home slot,
+     * k for a key k slots past it, -1 for an empty slot.
+     * Completes any pending incremental resize first so every entry is in one array.
+     */
+    int[] settledProbeDistances() {
+        finishMigration();
+        int[] distances = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            if (values[i] == null) {
+                distances[i] = -1;
+            } else {
+                int home = getIndex(keys[i]);
+                distances[i] = i >= home ? i - home : i + capacity - home;
+            }
+        }
+        return distances;
+    }
+
+    public void put(int key, V value) {
+        if (value == null) throw new IllegalArgumentException("Value cannot be null");
+
+        if (insert(key, value) && (1.0 * size) / capacity >= LOAD_FACTOR_THRESHOLD) {
+            rehash(strategy.capacityFor(capacity * 2));
+        }
+    }
+
+    /**
+     * Insert or update without the load-factor check.
+     *
+     * @return true if a new entry was added
+     */
+    private boolean insert(int key, V value) {
+        boolean moved = false;
+        if (oldValues != null) {
+            // Take the key out of the old arrays first so it lives in exactly one place
+            moved = removeOld(key) != null;
+            migrateStep();
+        }
+
+        int index = getIndex(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return false;
+            }
+            index = nextSlot(index);
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (moved) return false;
+        size++;
+        return true;
+    }
+
+    /**
+     * Make room for expectedSize entries in one rehash, so the following puts never resize.
+     * In incremental mode the old slots migrate during those puts.
+     * Time Complexity: O(1) per entry moved, O(n) at once in full mode
+     */
+    public void ensureCapacity(int expectedSize) {
+        int needed = capacityFor(expectedSize);
+        if (needed > capacity) rehash(needed);
+    }
+
+    /**
+     * Bulk load: size the table once, then insert without per-insert load-factor checks.
+     * Time Complexity: O(n)
+     *
+     * @param keys Keys to insert
+     * @param values values[i] is stored under keys[i]
+     */
+    public void putAll(int[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+        for (V value : values) {
+            if (value == null) throw new IllegalArgumentException("Value cannot be null");
+        }
+
+        ensureCapacity(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            insert(keys[i], values[i]);
+        }
+    }
+
+    public V get(int key) {
+        if (oldValues != null) migrateStep();
+
+        int index = getIndex(key);
+        V value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) return value;
+            index = nextSlot(index);
+        }
+        return oldValues == null ? null : getOld(key);
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    public V remove(int key) {
+        if (oldValues != null) {
+            V removed = removeOld(key);
+            migrateStep();
+            if (removed != null) {
+                size--;
+                maybeShrink();
+                return removed;
+            }
+        }
+
+        int index = getIndex(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V removed = values[index];
+                shiftBack(index);
+                size--;
+                maybeShrink();
+                return removed;
+            }
+            index = nextSlot(index);
+        }
+        return null;
+    }
+
+    private void maybeShrink() {
+        // Never start a shrink while a previous resize is still draining
+        int minCapacity = capacityFor(0);
+        if (oldValues != null || capacity <= minCapacity) return;
+        if ((1.0 * size) / capacity < SHRINK_THRESHOLD) {
+            rehash(Math.max(minCapacity, strategy.capacityFor(capacity / 2)));
+        }
+    }
+
+    /**
+     * Backward-shift deletion: close the hole at {@code hole} by moving later entries
+     * of the same probe run back, so every remaining key stays reachable from its home slot.
+     */
+    private void shiftBack(int hole) {
+        int index = hole;
+        while (true) {
+            index = nextSlot(index);
+            if (values[index] == null) break;
+
+            int home = getIndex(keys[index]);
+            // Entry may move into the hole only if the hole lies between its home and its slot
+            boolean movable = (hole <= index)
+                    ? (home <= hole || home > index)
+                    : (home <= hole && home > index);
+            if (movable) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        values[hole] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public MyLinkedList<V> values() {
+        MyLinkedList<V> list = new MyLinkedList<>();
+        for (int i = 0; i < capacity; i++) {
+            if (values[i] != null) list.add(values[i]);
+        }
+        if (oldValues != null) {
+            for (int i = migrateIndex; i < oldValues.length; i++) {
+                if (isOldEntry(i)) list.add((V) oldValues[i]);
+            }
+        }
+        return list;
+    }
+
+    public MyLinkedList<Integer> keySet() {
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        for (int i = 0; i < capacity; i++) {
+            if (values[i] != null) list.add(keys[i]);
+        }
+        if (oldValues != null) {
+            for (int i = migrateIndex; i < oldValues.length; i++) {
+                if (isOldEntry(i)) list.add(oldKeys[i]);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Switch to arrays of newCapacity.
+     * Full mode moves every entry immediately; incremental mode only swaps the arrays
+     * and migrateStep() moves the entries later.
+     */
+    private void rehash(int newCapacity) {
+        // A resize that overlaps the previous one finishes the previous one first
+        finishMigration();
+
+        oldKeys = keys;
+        oldValues = values;
+        oldCapacity = capacity;
+        migrateIndex = 0;
+        allocate(newCapacity);
+
+        if (!incrementalResize) finishMigration();
+    }
+
+    /**
+     * Migrate the next MIGRATE_STEP old slots. Time Complexity: O(1) amortized.
+     */
+    private void migrateStep() {
+        int end = Math.min(migrateIndex + MIGRATE_STEP, oldValues.length);
+        while (migrateIndex < end) migrateSlot(migrateIndex++);
+        if (migrateIndex == oldValues.length) {
+            oldKeys = null;
+            oldValues = null;
+        }
+    }
+
+    private void finishMigration() {
+        if (oldValues == null) return;
+        while (migrateIndex < oldValues.length) migrateSlot(migrateIndex++);
+        oldKeys = null;
+        oldValues = null;
+    }
+
+    /**
+     * Move one old entry into the new arrays (a key is never in both, so no equality check).
+     */
+    @SuppressWarnings("unchecked")
+    private void migrateSlot(int oldIndex) {
+        if (!isOldEntry(oldIndex)) return;
+        int index = getIndex(oldKeys[oldIndex]);
+        while (values[index] != null) {
+            index = nextSlot(index);
+        }
+        keys[index] = oldKeys[oldIndex];
+        values[index] = (V) oldValues[oldIndex];
+        oldValues[oldIndex] = MOVED;
+    }
+
+    private boolean isOldEntry(int oldIndex) {
+        Object value = oldValues[oldIndex];
+        return value != null && value != MOVED;
+    }
+
+    /**
+     * Old slot holding key, or -1. MOVED slots are probed past like occupied ones.
+     */
+    private int findOld(int key) {
+        int index = strategy.indexFor(strategy.hash(key, hashSalt), oldCapacity);
+        Object value;
+        while ((value = oldValues[index]) != null) {
+            if (value != MOVED && oldKeys[index] == key) return index;
+            if (++index == oldCapacity) index = 0;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V getOld(int key) {
+        int index = findOld(key);
+        return index < 0 ? null : (V) oldValues[index];
+    }
+
+    /**
+     * Remove key from the old arrays (does not change size).
+     */
+    @SuppressWarnings("unchecked")
+    private V removeOld(int key) {
+        int index = findOld(key);
+        if (index < 0) return null;
+        V removed = (V) oldValues[index];
+        oldValues[index] = MOVED;
+        return removed;
+    }
+}
@@ -0,0 +1,178 @@
+package dataStructure.hashtable;
+
+import java.util.function.Predicate;
+
+/**
+ * LRUCache - Bounded key -> value cache that evicts the least recently used entry.
+ *
+ * PURPOSE: Remember recent results of expensive lookups.
+ * Used in LibrarySystem for repeated title/author/any-field searches.
+ *
+ * DATA STRUCTURE: HashTable<K, Node> + doubly linked list in recency order
+ * Why: The hash table finds an entry in O(1); the list moves a hit to the front and drops
+ * the tail on overflow in O(1), with no timestamps and no scan for the oldest entry.
+ * removeIf walks the list, so the owner can drop exactly the entries a data change
+ * affects instead of clearing the whole cache.
+ *
+ * COMPLEXITY ANALYSIS:
+ * - get / put / remove: O(1) average
+ * - removeIf: O(size)
+ */
+public class LRUCache<K, V> {
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        Node<K, V> prev, next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Counter snapshot.
+     */
+    public static final class Stats {
+        private final long hits, misses, evictions, invalidations;
+        private final int size, capacity;
+
+        Stats(long hits, long misses, long evictions, long invalidations, int size, int capacity) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.size = size;
+            this.capacity = capacity;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+        public int getSize() { return size; }
+        public int getCapacity() { return capacity; }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d hitRate=%.1f%% evictions=%d invalidations=%d size=%d/%d",
+                    hits, misses, 100 * getHitRate(), evictions, invalidations, size, capacity);
+        }
+    }
+
+    private final int capacity;
+    private final HashTable<K, Node<K, V>> table;
+    private Node<K, V> head, tail; // head = most recently used
+
+    private long hits, misses, evictions, invalidations;
+
+    /**
+     * @param salt HashTable salt
+     * @param capacity Maximum number of entries
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public LRUCache(int salt, int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        this.table = new HashTable<>(salt, capacity);
+    }
+
+    /**
+     * Cached value (and mark it most recently used), or null on a miss.
+     */
+    public V get(K key) {
+        Node<K, V> node = table.get(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        unlink(node);
+        linkFirst(node);
+        return node.value;
+    }
+
+    public void put(K key, V value) {
+        Node<K, V> node = table.get(key);
+        if (node != null) {
+            node.value = value;
+            unlink(node);
+            linkFirst(node);
+            return;
+        }
+        if (table.size() == capacity) {
+            Node<K, V> oldest = tail;
+            unlink(oldest);
+            table.remove(oldest.key);
+            evictions++;
+        }
+        node = new Node<>(key, value);
+        table.put(key, node);
+        linkFirst(node);
+    }
+
+    public V remove(K key) {
+        Node<K, V> node = table.remove(key);
+        if (node == null) return null;
+        unlink(node);
+        return node.value;
+    }
+
+    /**
+     * Drop every entry whose value matches; counted as invalidations.
+     *
+     * @return Number of entries removed
+     */
+    public int removeIf(Predicate<V> stale) {
+        int removed = 0;
+        Node<K, V> node = head;
+        while (node != null) {
+            Node<K, V> next = node.next;
+            if (stale.test(node.value)) {
+                unlink(node);
+                table.remove(node.key);
+                removed++;
+            }
+            node = next;
+        }
+        invalidations += removed;
+        return removed;
+    }
+
+    public void clear() {
+        while (head != null) {
+            table.remove(head.key);
+            unlink(head);
+        }
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations, table.size(), capacity);
+    }
+
+    private void linkFirst(Node<K, V> node) {
+        node.prev = null;
+        node.next = head;
+        if (head != null) head.prev = node;
+        head = node;
+        if (tail == null) tail = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev != null) node.prev.next = node.next;
+        else head = node.next;
+        if (node.next != null) node.next.prev = node.prev;
+        else tail = node.prev;
+        node.prev = node.next = null;
+    }
+}
@@ -0,0 +1,40 @@
+package dataStructure.hashtable;
+
+/**
+ * MultiplyShiftHashStrategy - Salt XOR, one golden-ratio multiply and a shift, then a
+ * power-of-two mask.
+ *
+ * This is IntHashTable's original scheme and stays its default.
+ * One multiply is enough to spread sequential IDs over the table; it is cheaper than the
+ * murmur3 finalizer but mixes the high input bits less thoroughly.
+ *
+ * COMPLEXITY: all operations O(1)
+ */
+public class MultiplyShiftHashStrategy implements HashStrategy {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    @Override
+    public int hash(int keyHashCode, int salt) {
+        int h = (keyHashCode ^ salt) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public int indexFor(int hash, int capacity) {
+        return hash & (capacity - 1);
+    }
+
+    @Override
+    public int capacityFor(int minCapacity) {
+        if (minCapacity >= MAX_CAPACITY) return MAX_CAPACITY;
+        int capacity = 1;
+        while (capacity < minCapacity) capacity <<= 1;
+        return capacity;
+    }
+
+    @Override
+    public String name() {
+        return "fibonacci-mask";
+    }
+}
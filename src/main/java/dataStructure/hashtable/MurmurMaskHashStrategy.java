@@ -0,0 +1,44 @@
+package dataStructure.hashtable;
+
+/**
+ * MurmurMaskHashStrategy - murmur3 32-bit finalizer, then mask with a power-of-two capacity.
+ *
+ * The finalizer avalanches every input bit into the low bits, so masking is safe even for
+ * sequential keys (member IDs, auto-incremented book IDs). Masking replaces the integer
+ * division of the prime scheme with a single AND.
+ *
+ * COMPLEXITY: all operations O(1)
+ */
+public class MurmurMaskHashStrategy implements HashStrategy {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    @Override
+    public int hash(int keyHashCode, int salt) {
+        int h = keyHashCode ^ salt;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    @Override
+    public int indexFor(int hash, int capacity) {
+        return hash & (capacity - 1);
+    }
+
+    @Override
+    public int capacityFor(int minCapacity) {
+        if (minCapacity >= MAX_CAPACITY) return MAX_CAPACITY;
+        int capacity = 1;
+        while (capacity < minCapacity) capacity <<= 1;
+        return capacity;
+    }
+
+    @Override
+    public String name() {
+        return "murmur-mask";
+    }
+}
@@ -0,0 +1,54 @@
+package dataStructure.hashtable;
+
+/**
+ * SaltedPrimeHashStrategy - XOR the hashCode with the salt, then take it modulo a prime capacity.
+ *
+ * This is HashTable's original scheme and stays its default.
+ * The prime modulus uses every bit of the hash, which compensates for the weak mixing,
+ * at the cost of an integer division per lookup.
+ *
+ * COMPLEXITY: hash/indexFor O(1), capacityFor O(sqrt(n)) per candidate (prime search)
+ */
+public class SaltedPrimeHashStrategy implements HashStrategy {
+
+    @Override
+    public int hash(int keyHashCode, int salt) {
+        // XOR with student ID salt to ensure unique hash patterns per submission
+        return keyHashCode ^ salt;
+    }
+
+    @Override
+    public int indexFor(int hash, int capacity) {
+        return Math.abs(hash % capacity);
+    }
+
+    @Override
+    public int capacityFor(int minCapacity) {
+        return nextPrime(minCapacity);
+    }
+
+    @Override
+    public String name() {
+        return "salted-prime";
+    }
+
+     private boolean isPrime(int num) {
+        if (num <= 1) return false;
+        if (num <= 3) return true;
+
+        if (num % 2 == 0 || num % 3 == 0) return false;
+
+        for (int i = 5; i * i <= num; i += 6) {
+            if (num % i == 0 || num % (i + 2) == 0) return false;
+        }
+
+        return true;
+    }
+
+    private int nextPrime(int num) {
+        while (!isPrime(num)) {
+            num++;
+        }
+        return num;
+    }
+}
@@ -0,0 +1,251 @@
+package dataStructure.hashtable;
+
+import dataStructure.linkedList.MyLinkedList;
+
+/**
+ * TreeBin - Balanced tree (AVL) that replaces a long collision chain inside HashTable.
+ *
+ * PURPOSE: Keep worst-case lookups logarithmic when many keys land in one bucket
+ * (patterned IDs, adversarial keys). HashTable stores a TreeBin in the bucket slot
+ * instead of a HashNode chain once the chain grows past TREEIFY_THRESHOLD.
+ *
+ * ORDERING: entries are ordered by (salted hash, key class name, compareTo when the
+ * keys are Comparable, insertion sequence). The last component makes the order total
+ * even for keys that cannot be compared, so insert/delete never need equals().
+ *
+ * COMPLEXITY ANALYSIS:
+ * - find/put/remove: O(log n) when hashes differ or keys are Comparable
+ * - find: O(n) only for non-Comparable keys that share the exact same hash
+ */
+class TreeBin<K, V> extends HashNode<K, V> {
+
+    /**
+     * Tree entry. Extends HashNode so get() can return it like a chain node.
+     */
+    static final class TreeEntry<K, V> extends HashNode<K, V> {
+        final int hash;
+        final long seq;
+        TreeEntry<K, V> left, right;
+        int height = 1;
+
+        TreeEntry(K key, V value, int hash, long seq) {
+            super(key, value);
+            this.hash = hash;
+            this.seq = seq;
+        }
+    }
+
+    private TreeEntry<K, V> root;
+    private int size;
+    private long nextSeq;
+
+    TreeBin() {
+        super(null, null);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Find the entry holding key.
+     * Time Complexity: O(log n)
+     */
+    TreeEntry<K, V> find(K key, int hash) {
+        return find(root, key, hash);
+    }
+
+    private TreeEntry<K, V> find(TreeEntry<K, V> node, K key, int hash) {
+        while (node != null) {
+            if (hash < node.hash) {
+                node = node.left;
+            } else if (hash > node.hash) {
+                node = node.right;
+            } else {
+                if (key.equals(node.getKey())) return node;
+                int cmp = compareKeys(key, node.getKey());
+                if (cmp < 0) {
+                    node = node.left;
+                } else if (cmp > 0) {
+                    node = node.right;
+                } else {
+                    // Same hash and no usable order: the key may be on either side
+                    TreeEntry<K, V> found = find(node.left, key, hash);
+                    if (found != null) return found;
+                    node = node.right;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Insert or update.
+     *
+     * @return true if a new entry was added, false if an existing value was replaced
+     */
+    boolean put(K key, V value, int hash) {
+        TreeEntry<K, V> existing = find(key, hash);
+        if (existing != null) {
+            existing.setValue(value);
+            return false;
+        }
+        root = insert(root, new TreeEntry<>(key, value, hash, nextSeq++));
+        size++;
+        return true;
+    }
+
+    void remove(TreeEntry<K, V> entry) {
+        root = delete(root, entry);
+        size--;
+    }
+
+    private TreeEntry<K, V> insert(TreeEntry<K, V> node, TreeEntry<K, V> entry) {
+        if (node == null) return entry;
+        if (compareEntries(entry, node) < 0) node.left = insert(node.left, entry);
+        else node.right = insert(node.right, entry);
+        return balance(node);
+    }
+
+    private TreeEntry<K, V> delete(TreeEntry<K, V> node, TreeEntry<K, V> entry) {
+        if (node == null) return null;
+        if (node == entry) {
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            TreeEntry<K, V> successor = node.right;
+            while (successor.left != null) successor = successor.left;
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            return balance(successor);
+        }
+        if (compareEntries(entry, node) < 0) node.left = delete(node.left, entry);
+        else node.right = delete(node.right, entry);
+        return balance(node);
+    }
+
+    private TreeEntry<K, V> deleteMin(TreeEntry<K, V> node) {
+        if (node.left == null) return node.right;
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    /**
+     * Total order used for placement: hash, class name, compareTo, insertion sequence.
+     */
+    private int compareEntries(TreeEntry<K, V> a, TreeEntry<K, V> b) {
+        if (a.hash != b.hash) return a.hash < b.hash ? -1 : 1;
+        int cmp = compareKeys(a.getKey(), b.getKey());
+        if (cmp != 0) return cmp;
+        return Long.compare(a.seq, b.seq);
+    }
+
+    /**
+     * Order two keys that share a hash. Returns 0 when no order is available.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object a, Object b) {
+        Class<?> ca = a.getClass();
+        Class<?> cb = b.getClass();
+        if (ca != cb) return ca.getName().compareTo(cb.getName());
+        if (a instanceof Comparable) return ((Comparable) a).compareTo(b);
+        return 0;
+    }
+
+    // ---------------- AVL balancing ----------------
+
+    private int height(TreeEntry<K, V> n) {
+        return n == null ? 0 : n.height;
+    }
+
+    private void updateHeight(TreeEntry<K, V> n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+    }
+
+    private TreeEntry<K, V> balance(TreeEntry<K, V> n) {
+        updateHeight(n);
+        int bf = height(n.left) - height(n.right);
+        if (bf > 1) {
+            if (height(n.left.left) < height(n.left.right)) n.left = rotateLeft(n.left);
+            return rotateRight(n);
+        }
+        if (bf < -1) {
+            if (height(n.right.right) < height(n.right.left)) n.right = rotateRight(n.right);
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    private TreeEntry<K, V> rotateRight(TreeEntry<K, V> n) {
+        TreeEntry<K, V> l = n.left;
+        n.left = l.right;
+        l.right = n;
+        updateHeight(n);
+        updateHeight(l);
+        return l;
+    }
+
+    private TreeEntry<K, V> rotateLeft(TreeEntry<K, V> n) {
+        TreeEntry<K, V> r = n.right;
+        n.right = r.left;
+        r.left = n;
+        updateHeight(n);
+        updateHeight(r);
+        return r;
+    }
+
+    /**
+     * Sum of entry depths (root = 1), i.e. total comparisons to find every entry once.
+     * Used by HashTableAnalyzer.
+     */
+    long sumOfDepths() {
+        return sumOfDepths(root, 1);
+    }
+
+    private long sumOfDepths(TreeEntry<K, V> node, int depth) {
+        if (node == null) return 0;
+        return depth + sumOfDepths(node.left, depth + 1) + sumOfDepths(node.right, depth + 1);
+    }
+
+    int height() {
+        return height(root);
+    }
+
+    // ---------------- Conversion / iteration ----------------
+
+    /**
+     * Rebuild a plain HashNode chain from the tree (used when the bin shrinks or migrates).
+     */
+    HashNode<K, V> toChain() {
+        return toChain(root, null);
+    }
+
+    private HashNode<K, V> toChain(TreeEntry<K, V> node, HashNode<K, V> tail) {
+        if (node == null) return tail;
+        HashNode<K, V> chain = toChain(node.right, tail);
+        HashNode<K, V> copy = new HashNode<>(node.getKey(), node.getValue());
+        copy.setNext(chain);
+        return toChain(node.left, copy);
+    }
+
+    void addValuesTo(MyLinkedList<V> list) {
+        addValuesTo(root, list);
+    }
+
+    private void addValuesTo(TreeEntry<K, V> node, MyLinkedList<V> list) {
+        if (node == null) return;
+        addValuesTo(node.left, list);
+        list.add(node.getValue());
+        addValuesTo(node.right, list);
+    }
+
+    void addKeysTo(MyLinkedList<K> list) {
+        addKeysTo(root, list);
+    }
+
+    private void addKeysTo(TreeEntry<K, V> node, MyLinkedList<K> list) {
+        if (node == null) return;
+        addKeysTo(node.left, list);
+        list.add(node.getKey());
+        addKeysTo(node.right, list);
+    }
+}
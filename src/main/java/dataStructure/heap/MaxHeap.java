@@ -1,38 +1,91 @@
 package dataStructure.heap;
 
+import dataStructure.hashtable.HashTable;
+
 import java.util.ArrayList;
 
 /**
- * MaxHeap - Maximum heap implementation using array-based binary heap.
- * 
+ * MaxHeap - Indexed maximum heap implementation using an array-based d-ary heap.
+ *
  * PURPOSE: Efficiently track and retrieve most popular books.
  * Used in LibrarySystem for:
  * - Tracking book popularity (O(log n) insert/update)
  * - Retrieving top-K popular books (O(k log n))
- * 
- * DATA STRUCTURE: Binary Max Heap (array-based)
+ * - Removing deleted books (O(log n))
+ *
+ * DATA STRUCTURE: 4-ary Max Heap (array-based) + position map
  * Why Heap: Provides optimal O(log n) insert and O(k log n) top-K retrieval.
  * Better than sorting entire collection O(n log n) when k << n.
- * 
+ * Why 4-ary: half the height of a binary heap, and the 4 children of a node sit next to
+ * each other in the array, so a sift-down level costs one cache line instead of two.
+ * Why position map: every element's current array index is tracked (HashTable from
+ * element to its heap entry), so increaseKey/decreaseKey/remove find the element in
+ * O(1) instead of an O(n) indexOf scan.
+ *
  * COMPLEXITY ANALYSIS:
  * - insert: O(log n)
  * - extractMax: O(log n)
- * - getTopK: O(k log n) where k is number requested
- * - increaseKey: O(log n)
- * 
+ * - getTopK: O(k log k) where k is number requested, heap left untouched
+ * - getLeaderboard: O(k) when cached, O(k log k) after invalidation
+ * - increaseKey / decreaseKey: O(log n)
+ * - remove: O(log n)
+ * - contains: O(1) average
+ *
  * HEAP PROPERTY: Parent >= Children (max-heap)
- * Array representation: parent at index i, children at 2i+1 and 2i+2
+ * Array representation: parent of index i at (i-1)/4, children at 4i+1 .. 4i+4
+ *
+ * LEADERBOARD CACHE:
+ * getLeaderboard(k) keeps its last result and each entry remembers whether it is on it.
+ * A key increase of an element outside the board only costs one comparison with the
+ * board's last element; the board is patched in O(k) when membership really changes.
+ * Removing a board element or decreasing its key drops the cache (rebuilt on next call).
+ *
+ * CONTRACT: an element's key (compareTo result) may only change between calls if the
+ * caller then reports it through increaseKey/decreaseKey/update.
  */
 public class MaxHeap<T extends Comparable<T>> {
 
+    /**
+     * Number of children per node.
+     */
+    private static final int D = 4;
+
+    /**
+     * Heap slot: the element plus its current index, updated on every move.
+     */
+    private static final class Entry<T> {
+        final T element;
+        int index;
+        boolean onLeaderboard;
+
+        Entry(T element, int index) {
+            this.element = element;
+            this.index = index;
+        }
+    }
+
     /**
      * Array-based heap storage.
      * Index 0 is root (maximum element).
      */
-    private ArrayList<T> heap;
+    private ArrayList<Entry<T>> heap;
+
+    /**
+     * Position map: element -> its heap entry.
+     */
+    private HashTable<T, Entry<T>> positions;
+
+    /**
+     * Cached top-K entries, best first. Only meaningful while leaderboardValid.
+     */
+    private ArrayList<Entry<T>> leaderboard;
+    private int leaderboardK;
+    private boolean leaderboardValid;
 
     public MaxHeap() {
         heap = new ArrayList<>();
+        positions = new HashTable<>();
+        leaderboard = new ArrayList<>();
     }
 
     public int size() {
@@ -45,73 +98,271 @@ public class MaxHeap<T extends Comparable<T>> {
 
     public T peek() {
         if (heap.isEmpty()) return null;
-        return heap.get(0);
+        return heap.get(0).element;
     }
 
+    /**
+     * Insert element. If it is already in the heap, its position is refreshed instead.
+     * Time Complexity: O(log n)
+     */
     public void insert(T element) {
-        heap.add(element);
-        heapifyUp(heap.size() - 1);
+        if (positions.get(element) != null) {
+            update(element);
+            return;
+        }
+        Entry<T> entry = new Entry<>(element, heap.size());
+        heap.add(entry);
+        positions.put(element, entry);
+        heapifyUp(entry.index);
+        leaderboardOffer(entry);
     }
 
     public T extractMax() {
         if (heap.isEmpty()) return null;
+        T max = heap.get(0).element;
+        removeAt(0);
+        return max;
+    }
+
+    /**
+     * Element's key grew (e.g. popularity++). Time Complexity: O(log n)
+     */
+    public void increaseKey(T element) {
+        Entry<T> entry = positions.get(element);
+        if (entry == null) return;
 
-        T max = heap.get(0);
+        heapifyUp(entry.index);
+        leaderboardRaised(entry);
+    }
 
-        heap.set(0, heap.get(heap.size() - 1));
-        heap.remove(heap.size() - 1);
+    /**
+     * Element's key shrank. Time Complexity: O(log n)
+     */
+    public void decreaseKey(T element) {
+        Entry<T> entry = positions.get(element);
+        if (entry == null) return;
 
-        heapifyDown(0);
-        return max;
+        heapifyDown(entry.index);
+        leaderboardLowered(entry);
     }
 
-    public void increaseKey(T element) {
-        int index = heap.indexOf(element);
-        if (index == -1) return;
+    /**
+     * Element's key changed in an unknown direction. Time Complexity: O(log n)
+     */
+    public void update(T element) {
+        Entry<T> entry = positions.get(element);
+        if (entry == null) return;
 
-        heapifyUp(index);
+        heapifyDown(heapifyUp(entry.index));
+        if (entry.onLeaderboard) {
+            leaderboardLowered(entry);
+        } else {
+            leaderboardOffer(entry);
+        }
+    }
+
+    /**
+     * Remove an arbitrary element.
+     * Time Complexity: O(log n)
+     *
+     * @return true if the element was in the heap
+     */
+    public boolean remove(T element) {
+        Entry<T> entry = positions.get(element);
+        if (entry == null) return false;
+        removeAt(entry.index);
+        return true;
     }
 
     public boolean contains(T element) {
-        return heap.contains(element);
+        return positions.get(element) != null;
     }
 
+    /**
+     * Top-k elements, best first, without modifying the heap.
+     * Time Complexity: O(k log k)
+     *
+     * A candidate heap of array indexes starts at the root; each pop yields the next
+     * largest element and pushes its (at most 4) children. Only nodes adjacent to the
+     * k results are ever looked at, so no copy of the heap is made.
+     */
     public ArrayList<T> getTopK(int k) {
         ArrayList<T> result = new ArrayList<>();
-        ArrayList<T> temp = new ArrayList<>(heap);
+        for (Entry<T> entry : topEntries(k)) {
+            result.add(entry.element);
+        }
+        return result;
+    }
 
-        for (int i = 0; i < k && !heap.isEmpty(); i++) {
-            result.add(extractMax());
+    /**
+     * Cached top-k, best first. Repeated calls with the same k are O(k) until a key change
+     * actually alters the top-k, see LEADERBOARD CACHE above.
+     */
+    public ArrayList<T> getLeaderboard(int k) {
+        if (!leaderboardValid || k != leaderboardK) {
+            for (Entry<T> entry : leaderboard) entry.onLeaderboard = false;
+            leaderboard = topEntries(k);
+            for (Entry<T> entry : leaderboard) entry.onLeaderboard = true;
+            leaderboardK = k;
+            leaderboardValid = true;
         }
 
-        heap = temp;
+        ArrayList<T> result = new ArrayList<>(leaderboard.size());
+        for (Entry<T> entry : leaderboard) {
+            result.add(entry.element);
+        }
         return result;
     }
 
+    private ArrayList<Entry<T>> topEntries(int k) {
+        int count = Math.min(Math.max(k, 0), heap.size());
+        ArrayList<Entry<T>> result = new ArrayList<>(count);
+        if (count == 0) return result;
+
+        // Binary max-heap of indexes into heap; holds at most 1 + count * (D - 1) candidates
+        int[] candidates = new int[1 + count * (D - 1)];
+        int candidateCount = 0;
+        candidates[candidateCount++] = 0;
 
-    private void heapifyUp(int index) {
-        int parent = (index - 1) / 2;
+        while (result.size() < count) {
+            int best = candidates[0];
+            candidates[0] = candidates[--candidateCount];
+            siftDownCandidate(candidates, candidateCount);
+            result.add(heap.get(best));
 
-        while (index > 0 && heap.get(index).compareTo(heap.get(parent)) > 0) {
+            int first = D * best + 1;
+            int last = Math.min(first + D, heap.size());
+            for (int child = first; child < last; child++) {
+                candidates[candidateCount] = child;
+                siftUpCandidate(candidates, candidateCount++);
+            }
+        }
+        return result;
+    }
+
+    private void siftUpCandidate(int[] candidates, int pos) {
+        int moving = candidates[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / 2;
+            if (!greater(moving, candidates[parent])) break;
+            candidates[pos] = candidates[parent];
+            pos = parent;
+        }
+        candidates[pos] = moving;
+    }
+
+    private void siftDownCandidate(int[] candidates, int count) {
+        if (count == 0) return;
+        int pos = 0;
+        int moving = candidates[0];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= count) break;
+            if (child + 1 < count && greater(candidates[child + 1], candidates[child])) child++;
+            if (!greater(candidates[child], moving)) break;
+            candidates[pos] = candidates[child];
+            pos = child;
+        }
+        candidates[pos] = moving;
+    }
+
+    // ---------------- Leaderboard maintenance ----------------
+
+    /**
+     * entry's key grew: reorder it on the board, or let it in if it now beats the board's last.
+     */
+    private void leaderboardRaised(Entry<T> entry) {
+        if (!leaderboardValid) return;
+        if (entry.onLeaderboard) {
+            moveUpOnLeaderboard(leaderboard.indexOf(entry));
+        } else {
+            leaderboardOffer(entry);
+        }
+    }
+
+    /**
+     * entry (not on the board) is new or grew: O(1) when it does not make the top-k.
+     */
+    private void leaderboardOffer(Entry<T> entry) {
+        if (!leaderboardValid || entry.onLeaderboard || leaderboardK == 0) return;
+
+        int n = leaderboard.size();
+        if (n >= leaderboardK) {
+            // While the board is not full it already holds every element of the heap
+            Entry<T> last = leaderboard.get(n - 1);
+            if (entry.element.compareTo(last.element) <= 0) return;
+            leaderboard.remove(n - 1);
+            last.onLeaderboard = false;
+        }
+
+        entry.onLeaderboard = true;
+        leaderboard.add(entry);
+        moveUpOnLeaderboard(leaderboard.size() - 1);
+    }
+
+    /**
+     * A board entry shrank or left: some element off the board may now belong on it.
+     */
+    private void leaderboardLowered(Entry<T> entry) {
+        if (entry.onLeaderboard) leaderboardValid = false;
+    }
+
+    private void moveUpOnLeaderboard(int pos) {
+        Entry<T> moving = leaderboard.get(pos);
+        while (pos > 0 && moving.element.compareTo(leaderboard.get(pos - 1).element) > 0) {
+            leaderboard.set(pos, leaderboard.get(pos - 1));
+            pos--;
+        }
+        leaderboard.set(pos, moving);
+    }
+
+    /**
+     * Remove the entry at index: fill the hole with the last entry and re-sift it.
+     */
+    private void removeAt(int index) {
+        Entry<T> removed = heap.get(index);
+        positions.remove(removed.element);
+        leaderboardLowered(removed);
+        moveLastTo(index);
+        if (index < heap.size()) {
+            heapifyDown(heapifyUp(index));
+        }
+    }
+
+    private void moveLastTo(int index) {
+        Entry<T> last = heap.remove(heap.size() - 1);
+        if (index < heap.size()) {
+            heap.set(index, last);
+            last.index = index;
+        }
+    }
+
+    /**
+     * @return the final index of the moved entry
+     */
+    private int heapifyUp(int index) {
+        int parent = (index - 1) / D;
+
+        while (index > 0 && greater(index, parent)) {
             swap(index, parent);
             index = parent;
-            parent = (index - 1) / 2;
+            parent = (index - 1) / D;
         }
+        return index;
     }
 
     private void heapifyDown(int index) {
-        int left, right, largest;
+        int size = heap.size();
 
         while (true) {
-            left = 2 * index + 1;
-            right = 2 * index + 2;
-            largest = index;
-
-            if (left < heap.size() && heap.get(left).compareTo(heap.get(largest)) > 0)
-                largest = left;
+            int first = D * index + 1;
+            if (first >= size) break;
 
-            if (right < heap.size() && heap.get(right).compareTo(heap.get(largest)) > 0)
-                largest = right;
+            int largest = index;
+            int last = Math.min(first + D, size);
+            for (int child = first; child < last; child++) {
+                if (greater(child, largest)) largest = child;
+            }
 
             if (largest == index) break;
 
@@ -120,9 +371,16 @@ public class MaxHeap<T extends Comparable<T>> {
         }
     }
 
+    private boolean greater(int i, int j) {
+        return heap.get(i).element.compareTo(heap.get(j).element) > 0;
+    }
+
     private void swap(int i, int j) {
-        T temp = heap.get(i);
-        heap.set(i, heap.get(j));
-        heap.set(j, temp);
+        Entry<T> a = heap.get(i);
+        Entry<T> b = heap.get(j);
+        heap.set(i, b);
+        heap.set(j, a);
+        a.index = j;
+        b.index = i;
     }
 }
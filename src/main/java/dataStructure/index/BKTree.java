@@ -0,0 +1,220 @@
+package dataStructure.index;
+
+import dataStructure.hashtable.HashTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BKTree - Burkhard-Keller tree of words, each with the posting list of its IDs.
+ *
+ * PURPOSE: Typo-tolerant word lookup: every indexed word within edit distance k of a
+ * (misspelled) query word, e.g. "fahrenhiet" -> "fahrenheit", "dostoyevsky" -> "dostoevsky".
+ * Used in LibrarySystem for fuzzy title and author search.
+ *
+ * DATA STRUCTURE: BK-tree keyed by Levenshtein distance + HashTable<String, Node> of words
+ * Why BK-tree: Levenshtein distance is a metric, so by the triangle inequality a word within
+ * k of the query can only sit below a node at distance d in the child edge labelled
+ * d-k .. d+k. A search therefore compares the query with a small part of the vocabulary
+ * instead of with every book. Children are kept in a sorted distance array (binary search
+ * to the first edge >= d-k), like the char arrays of TokenTrie.
+ * The hash table finds the node of an already indexed word in O(1) on add/remove.
+ *
+ * Removing a word's last ID leaves its node in place as a tombstone (it still routes
+ * searches); the tree is rebuilt from the live words once tombstones outnumber them.
+ *
+ * COMPLEXITY ANALYSIS (V = distinct words, L = word length):
+ * - add: O(L) for a known word, O(depth * L^2) for a new one
+ * - remove: O(1) average + posting list update (amortized rebuild O(V * depth * L^2))
+ * - search: O(visited * L^2); visited nodes grow with k and are a fraction of V for k <= 2
+ */
+public class BKTree {
+
+    /**
+     * One indexed word close to the query.
+     */
+    public static class Match {
+        private final String word;
+        private final int distance;
+        private final PostingList ids;
+
+        Match(String word, int distance, PostingList ids) {
+            this.word = word;
+            this.distance = distance;
+            this.ids = ids;
+        }
+
+        public String getWord() { return word; }
+        public int getDistance() { return distance; }
+
+        /**
+         * IDs indexed under the word. Do not modify the result.
+         */
+        public PostingList getIds() { return ids; }
+    }
+
+    private static class Node {
+        final String word;
+        final PostingList postings = new PostingList();
+        int[] distances = new int[0];
+        Node[] children = new Node[0];
+
+        Node(String word) {
+            this.word = word;
+        }
+
+        Node child(int distance) {
+            int pos = Arrays.binarySearch(distances, distance);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        void addChild(int distance, Node child) {
+            int pos = -Arrays.binarySearch(distances, distance) - 1;
+            int[] newDistances = new int[distances.length + 1];
+            Node[] newChildren = new Node[distances.length + 1];
+            System.arraycopy(distances, 0, newDistances, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            System.arraycopy(distances, pos, newDistances, pos + 1, distances.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, distances.length - pos);
+            newDistances[pos] = distance;
+            newChildren[pos] = child;
+            distances = newDistances;
+            children = newChildren;
+        }
+    }
+
+    /**
+     * Tombstones are only cleaned up past this count, so small indexes never rebuild.
+     */
+    private static final int MIN_REBUILD = 64;
+
+    private final int salt;
+    private HashTable<String, Node> words;
+    private Node root;
+    private int tombstones;
+
+    public BKTree(int salt) {
+        this.salt = salt;
+        this.words = new HashTable<>(salt);
+    }
+
+    /**
+     * Number of words that currently have at least one ID.
+     */
+    public int size() {
+        return words.size() - tombstones;
+    }
+
+    public void add(String word, int id) {
+        Node node = words.get(word);
+        if (node == null) {
+            node = new Node(word);
+            words.put(word, node);
+            insert(node);
+        } else if (node.postings.isEmpty()) {
+            tombstones--;
+        }
+        node.postings.add(id);
+    }
+
+    public void remove(String word, int id) {
+        Node node = words.get(word);
+        if (node == null || !node.postings.remove(id) || !node.postings.isEmpty()) return;
+        tombstones++;
+        if (tombstones > MIN_REBUILD && tombstones > words.size() / 2) rebuild();
+    }
+
+    /**
+     * Every word within maxDistance edits (insert, delete, substitute) of query,
+     * closest first (ties by word).
+     *
+     * @throws IllegalArgumentException if maxDistance is negative
+     */
+    public List<Match> search(String query, int maxDistance) {
+        if (maxDistance < 0) throw new IllegalArgumentException("maxDistance cannot be negative");
+        List<Match> matches = new ArrayList<>();
+        if (root == null || query == null) return matches;
+
+        int[] prev = new int[query.length() + 1];
+        int[] cur = new int[query.length() + 1];
+        ArrayList<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            int d = distance(query, node.word, prev, cur);
+            if (d <= maxDistance && !node.postings.isEmpty()) {
+                matches.add(new Match(node.word, d, node.postings));
+            }
+
+            // only edges d-k .. d+k can lead to a match (triangle inequality)
+            int pos = Arrays.binarySearch(node.distances, d - maxDistance);
+            if (pos < 0) pos = -pos - 1;
+            for (; pos < node.distances.length && node.distances[pos] <= d + maxDistance; pos++) {
+                stack.add(node.children[pos]);
+            }
+        }
+        matches.sort((a, b) -> a.distance != b.distance
+                ? Integer.compare(a.distance, b.distance)
+                : a.word.compareTo(b.word));
+        return matches;
+    }
+
+    private void insert(Node node) {
+        if (root == null) {
+            root = node;
+            return;
+        }
+        int[] prev = new int[node.word.length() + 1];
+        int[] cur = new int[node.word.length() + 1];
+        Node parent = root;
+        while (true) {
+            int d = distance(node.word, parent.word, prev, cur);
+            Node next = parent.child(d);
+            if (next == null) {
+                parent.addChild(d, node);
+                return;
+            }
+            parent = next;
+        }
+    }
+
+    /**
+     * Re-insert the live words into a new tree, dropping tombstones.
+     */
+    private void rebuild() {
+        List<Node> live = new ArrayList<>();
+        for (Node node : words.values()) {
+            if (!node.postings.isEmpty()) live.add(node);
+        }
+        words = new HashTable<>(salt, live.size());
+        root = null;
+        tombstones = 0;
+        for (Node node : live) {
+            node.distances = new int[0];
+            node.children = new Node[0];
+            words.put(node.word, node);
+            insert(node);
+        }
+    }
+
+    /**
+     * Levenshtein distance with two rows; prev/cur are scratch rows of length a.length() + 1.
+     * Time Complexity: O(|a| * |b|)
+     */
+    private static int distance(String a, String b, int[] prev, int[] cur) {
+        for (int i = 0; i <= a.length(); i++) prev[i] = i;
+        for (int j = 1; j <= b.length(); j++) {
+            cur[0] = j;
+            char cb = b.charAt(j - 1);
+            for (int i = 1; i <= a.length(); i++) {
+                int cost = a.charAt(i - 1) == cb ? 0 : 1;
+                cur[i] = Math.min(Math.min(cur[i - 1] + 1, prev[i] + 1), prev[i - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[a.length()];
+    }
+}
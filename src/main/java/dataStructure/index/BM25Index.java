@@ -0,0 +1,359 @@
+package dataStructure.index;
+
+import dataStructure.hashtable.HashTable;
+import dataStructure.hashtable.IntHashTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * BM25Index - Inverted index with term frequencies for relevance-ranked search.
+ *
+ * PURPOSE: "Best matches first" search: documents are scored by how often and how
+ * specifically they contain the query words, and only the top k are returned.
+ * Used in LibrarySystem over book title + author + category.
+ *
+ * SCORING (Okapi BM25, k1 = 1.2, b = 0.75):
+ * score(d) = boost(d) + sum over query terms t of
+ *            idf(t) * tf * (k1 + 1) / (tf + k1 * (1 - b + b * |d| / avgdl))
+ * idf(t) = ln(1 + (N - df + 0.5) / (df + 0.5)): rare words weigh more, and common words
+ * still count a little. |d| is the token count of the document.
+ *
+ * DATA STRUCTURE: HashTable<String, term postings> (sorted ids + parallel tf array),
+ * IntHashTable of document lengths, bounded min-heap for the top k.
+ *
+ * QUERY EVALUATION (MaxScore, document at a time):
+ * Each term has an upper bound on what it can add to any score (its largest tf with the
+ * shortest possible length). Terms are sorted by bound; once the heap holds k results,
+ * the low-bound terms whose bounds together cannot lift a document past the current k-th
+ * score become "non-essential": only documents from the remaining essential lists are
+ * visited, and non-essential lists are probed (galloping search) only while the document
+ * can still make the top k. A very common word in the query then stops driving the scan
+ * as soon as the rarer words have filled the heap.
+ *
+ * COMPLEXITY ANALYSIS (q query terms, P postings of the essential terms):
+ * - add / remove: O(t log t) for t tokens + postings updates
+ * - topK: O(P * (q + log k)) worst case; typically far fewer postings once terms
+ *   become non-essential
+ */
+public class BM25Index {
+
+    public static final double K1 = 1.2;
+    public static final double B = 0.75;
+
+    /**
+     * Guards the upper bounds against floating point rounding in the score sums.
+     */
+    private static final double BOUND_SLACK = 1 + 1e-9;
+
+    /**
+     * One ranked result.
+     */
+    public static class Hit {
+        private final int id;
+        private final double score;
+
+        Hit(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public int getId() { return id; }
+        public double getScore() { return score; }
+    }
+
+    /**
+     * Sorted document IDs of one term with the term's frequency in each.
+     */
+    private static final class TermPostings {
+        int[] ids = new int[4];
+        int[] tfs = new int[4];
+        int size;
+        int maxTf; // never lowered on remove: stays a valid upper bound
+
+        void add(int id, int tf) {
+            int pos = (size > 0 && ids[size - 1] < id) ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0 && pos < size) {
+                tfs[pos] = tf;
+            } else {
+                if (pos < 0) pos = -pos - 1;
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    tfs = Arrays.copyOf(tfs, size * 2);
+                }
+                System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+                System.arraycopy(tfs, pos, tfs, pos + 1, size - pos);
+                ids[pos] = id;
+                tfs[pos] = tf;
+                size++;
+            }
+            maxTf = Math.max(maxTf, tf);
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(tfs, pos + 1, tfs, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+
+    /**
+     * Read position in one query term's postings during topK.
+     */
+    private static final class Cursor {
+        final TermPostings postings;
+        final double idf;
+        final double upperBound;
+        int pos;
+
+        Cursor(TermPostings postings, double idf) {
+            this.postings = postings;
+            this.idf = idf;
+            int tf = postings.maxTf;
+            this.upperBound = idf * tf * (K1 + 1) / (tf + K1 * (1 - B)) * BOUND_SLACK;
+        }
+
+        int doc() {
+            return pos < postings.size ? postings.ids[pos] : Integer.MAX_VALUE;
+        }
+
+        /**
+         * Move to the first posting >= target: exponential steps, then binary search.
+         */
+        void advance(int target) {
+            int[] ids = postings.ids;
+            int size = postings.size;
+            if (pos >= size || ids[pos] >= target) return;
+            int step = 1, lo = pos;
+            while (lo + step < size && ids[lo + step] < target) {
+                lo += step;
+                step <<= 1;
+            }
+            int hi = Math.min(lo + step, size);
+            int found = Arrays.binarySearch(ids, lo + 1, hi, target);
+            pos = found >= 0 ? found : -found - 1;
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best k (score, id) pairs; the root is the worst kept result.
+     * Ties on score prefer the smaller id.
+     */
+    private static final class TopK {
+        final double[] scores;
+        final int[] ids;
+        int size;
+
+        TopK(int k) {
+            scores = new double[k];
+            ids = new int[k];
+        }
+
+        boolean isFull() {
+            return size == scores.length;
+        }
+
+        double minScore() {
+            return scores[0];
+        }
+
+        void offer(int id, double score) {
+            if (!isFull()) {
+                scores[size] = score;
+                ids[size] = id;
+                siftUp(size++);
+            } else if (worse(scores[0], ids[0], score, id)) {
+                scores[0] = score;
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> sortedHits() {
+            List<Hit> hits = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) hits.add(new Hit(ids[i], scores[i]));
+            hits.sort((a, b) -> a.score != b.score ? Double.compare(b.score, a.score) : Integer.compare(a.id, b.id));
+            return hits;
+        }
+
+        private static boolean worse(double s1, int id1, double s2, int id2) {
+            return s1 < s2 || (s1 == s2 && id1 > id2);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(scores[i], ids[i], scores[parent], ids[parent])) return;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1, worst = i;
+                if (left < size && worse(scores[left], ids[left], scores[worst], ids[worst])) worst = left;
+                if (left + 1 < size && worse(scores[left + 1], ids[left + 1], scores[worst], ids[worst])) worst = left + 1;
+                if (worst == i) return;
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            double s = scores[i];
+            scores[i] = scores[j];
+            scores[j] = s;
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+    }
+
+    private final HashTable<String, TermPostings> terms;
+    private final IntHashTable<Integer> docLengths;
+    private long totalLength;
+
+    public BM25Index(int salt) {
+        terms = new HashTable<>(salt);
+        docLengths = new IntHashTable<>(salt);
+    }
+
+    /**
+     * Number of indexed documents.
+     */
+    public int size() {
+        return docLengths.size();
+    }
+
+    /**
+     * Index a document as the tokens of all its fields. Re-adding an id replaces it,
+     * so pass the same fields to remove() first if they changed.
+     */
+    public void add(int id, String... fields) {
+        if (docLengths.containsKey(id)) totalLength -= docLengths.get(id);
+        List<String> tokens = tokens(fields);
+        docLengths.put(id, tokens.size());
+        totalLength += tokens.size();
+
+        Collections.sort(tokens);
+        for (int i = 0; i < tokens.size(); ) {
+            int j = i;
+            while (j < tokens.size() && tokens.get(j).equals(tokens.get(i))) j++;
+            TermPostings postings = terms.get(tokens.get(i));
+            if (postings == null) {
+                postings = new TermPostings();
+                terms.put(tokens.get(i), postings);
+            }
+            postings.add(id, j - i);
+            i = j;
+        }
+    }
+
+    /**
+     * @param fields The fields id was indexed with
+     */
+    public void remove(int id, String... fields) {
+        Integer length = docLengths.remove(id);
+        if (length == null) return;
+        totalLength -= length;
+        for (String token : tokens(fields)) {
+            TermPostings postings = terms.get(token);
+            if (postings != null && postings.remove(id) && postings.size == 0) terms.remove(token);
+        }
+    }
+
+    /**
+     * The k highest-scoring documents for query, best first (ties by id).
+     * Only documents containing at least one query word are returned.
+     *
+     * @param boost Extra score per document (e.g. popularity), >= 0
+     * @param maxBoost Upper bound of boost over all documents; used for early termination
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public List<Hit> topK(String query, int k, IntToDoubleFunction boost, double maxBoost) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive");
+        int n = docLengths.size();
+        List<Cursor> list = new ArrayList<>();
+        for (String token : distinct(Tokenizer.tokenize(query))) {
+            TermPostings postings = terms.get(token);
+            if (postings == null) continue;
+            double idf = Math.log(1 + (n - postings.size + 0.5) / (postings.size + 0.5));
+            list.add(new Cursor(postings, idf));
+        }
+        if (list.isEmpty()) return new ArrayList<>();
+
+        // ascending bound; bounds[i] = sum of the bounds of cursors 0..i-1
+        list.sort((a, b) -> Double.compare(a.upperBound, b.upperBound));
+        Cursor[] cursors = list.toArray(new Cursor[0]);
+        double[] bounds = new double[cursors.length + 1];
+        for (int i = 0; i < cursors.length; i++) bounds[i + 1] = bounds[i] + cursors[i].upperBound;
+
+        double avgLength = (double) totalLength / n;
+        TopK top = new TopK(k);
+        double threshold = Double.NEGATIVE_INFINITY;
+        int firstEssential = 0;
+
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = firstEssential; i < cursors.length; i++) doc = Math.min(doc, cursors[i].doc());
+            if (doc == Integer.MAX_VALUE) break;
+
+            double norm = K1 * (1 - B + B * docLengths.get(doc) / avgLength);
+            double score = boost.applyAsDouble(doc);
+            for (int i = firstEssential; i < cursors.length; i++) {
+                Cursor c = cursors[i];
+                if (c.doc() == doc) {
+                    score += termScore(c, norm);
+                    c.pos++;
+                }
+            }
+
+            boolean candidate = true;
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (score + bounds[i + 1] < threshold) {
+                    candidate = false; // cannot reach the top k even with every remaining term
+                    break;
+                }
+                Cursor c = cursors[i];
+                c.advance(doc);
+                if (c.doc() == doc) score += termScore(c, norm);
+            }
+            if (!candidate) continue;
+
+            top.offer(doc, score);
+            if (top.isFull() && top.minScore() > threshold) {
+                threshold = top.minScore();
+                while (firstEssential < cursors.length && bounds[firstEssential + 1] + maxBoost < threshold) {
+                    firstEssential++;
+                }
+            }
+        }
+        return top.sortedHits();
+    }
+
+    private static double termScore(Cursor c, double norm) {
+        int tf = c.postings.tfs[c.pos];
+        return c.idf * tf * (K1 + 1) / (tf + norm);
+    }
+
+    private static List<String> tokens(String... fields) {
+        List<String> tokens = new ArrayList<>();
+        for (String field : fields) tokens.addAll(Tokenizer.tokenize(field));
+        return tokens;
+    }
+
+    private static List<String> distinct(List<String> tokens) {
+        List<String> unique = new ArrayList<>();
+        for (String token : tokens) {
+            if (!unique.contains(token)) unique.add(token);
+        }
+        return unique;
+    }
+}
@@ -0,0 +1,106 @@
+package dataStructure.index;
+
+import dataStructure.hashtable.HashTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FacetIndex - Value -> IDs index for a low-cardinality field, with live counts.
+ *
+ * PURPOSE: Filter by a facet value ("books in Fantasy") and show per-value counts
+ * (facet sidebar) without scanning the catalog.
+ * Used in LibrarySystem for Book.category.
+ *
+ * DATA STRUCTURE: HashTable<String, PostingList>
+ * Why: Values are matched case-insensitively (lowercased, trimmed key) and each value's
+ * IDs are a sorted int array, so a filter returns exactly its result and the count of a
+ * value is just its posting list size, kept current by add/remove.
+ * The first spelling seen for a value is kept for display.
+ *
+ * COMPLEXITY ANALYSIS (c = number of distinct values):
+ * - add / remove: O(1) average + posting list update
+ * - get(value): O(1) average, count(value): O(1) average
+ * - counts(): O(c log c) - independent of the number of documents
+ */
+public class FacetIndex {
+
+    /**
+     * One facet value and how many documents have it.
+     */
+    public static class FacetCount {
+        private final String value;
+        private final int count;
+
+        FacetCount(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() { return value; }
+        public int getCount() { return count; }
+    }
+
+    private final HashTable<String, PostingList> postings;
+    private final HashTable<String, String> displayNames;
+
+    public FacetIndex(int salt) {
+        postings = new HashTable<>(salt);
+        displayNames = new HashTable<>(salt);
+    }
+
+    public void add(String value, int id) {
+        String key = normalize(value);
+        if (key == null) return;
+        PostingList list = postings.get(key);
+        if (list == null) {
+            list = new PostingList();
+            postings.put(key, list);
+            displayNames.put(key, value.trim());
+        }
+        list.add(id);
+    }
+
+    public void remove(String value, int id) {
+        String key = normalize(value);
+        if (key == null) return;
+        PostingList list = postings.get(key);
+        if (list != null && list.remove(id) && list.isEmpty()) {
+            postings.remove(key);
+            displayNames.remove(key);
+        }
+    }
+
+    /**
+     * IDs with this value (empty list if none). Do not modify the result.
+     */
+    public PostingList get(String value) {
+        String key = normalize(value);
+        PostingList list = (key == null) ? null : postings.get(key);
+        return list == null ? new PostingList() : list;
+    }
+
+    public int count(String value) {
+        return get(value).size();
+    }
+
+    /**
+     * Every value with its count, largest count first (ties by name).
+     */
+    public List<FacetCount> counts() {
+        List<FacetCount> result = new ArrayList<>();
+        for (String key : postings.keySet()) {
+            result.add(new FacetCount(displayNames.get(key), postings.get(key).size()));
+        }
+        result.sort((a, b) -> a.count != b.count
+                ? Integer.compare(b.count, a.count)
+                : a.value.compareToIgnoreCase(b.value));
+        return result;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) return null;
+        String key = value.trim().toLowerCase();
+        return key.isEmpty() ? null : key;
+    }
+}
@@ -0,0 +1,178 @@
+package dataStructure.index;
+
+import java.util.Arrays;
+
+/**
+ * PostingList - Sorted set of int IDs stored in one growable int array.
+ *
+ * PURPOSE: The value side of every inverted index (token -> book IDs).
+ * Used by TokenTrie and the search indexes in LibrarySystem.
+ *
+ * DATA STRUCTURE: Sorted int[] without duplicates
+ * Why sorted array: IDs are plain ints, so there is no boxing and no node per entry;
+ * membership is a binary search, and two lists intersect or merge in one linear pass.
+ * Books are usually added in increasing ID order, which makes add an O(1) append.
+ *
+ * COMPLEXITY ANALYSIS:
+ * - add: O(1) amortized when id is the largest so far, O(n) otherwise (shift)
+ * - remove: O(n) (shift)
+ * - contains: O(log n)
+ * - intersect: O(n + m), or O(small * log(large)) when sizes are very different
+ * - unionOf: O(T log T) where T is the total length of the lists
+ */
+public class PostingList {
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    /**
+     * A size-ratio above this makes intersect binary-search the larger list instead of merging.
+     */
+    private static final int GALLOP_RATIO = 16;
+
+    private int[] ids;
+    private int size;
+
+    public PostingList() {
+        ids = new int[DEFAULT_CAPACITY];
+        size = 0;
+    }
+
+    private PostingList(int[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * @return false if id was already present
+     */
+    public boolean add(int id) {
+        if (size > 0 && ids[size - 1] < id) {
+            append(id);
+            return true;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) return false;
+        pos = -pos - 1;
+        if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return false if id was not present
+     */
+    public boolean remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return false;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * The i-th smallest ID.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index);
+        return ids[index];
+    }
+
+    /**
+     * IDs present in both lists, as a new list.
+     */
+    public PostingList intersect(PostingList other) {
+        PostingList small = size <= other.size ? this : other;
+        PostingList large = small == this ? other : this;
+        int[] out = new int[small.size];
+        int n = 0;
+
+        if ((long) small.size * GALLOP_RATIO < large.size) {
+            for (int i = 0; i < small.size; i++) {
+                if (large.contains(small.ids[i])) out[n++] = small.ids[i];
+            }
+        } else {
+            int i = 0, j = 0;
+            while (i < small.size && j < large.size) {
+                int a = small.ids[i], b = large.ids[j];
+                if (a == b) {
+                    out[n++] = a;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return new PostingList(out, n);
+    }
+
+    /**
+     * IDs present in any of the lists, as a new list.
+     */
+    public static PostingList unionOf(Iterable<PostingList> lists) {
+        int total = 0;
+        for (PostingList list : lists) total += list.size;
+
+        int[] all = new int[Math.max(total, DEFAULT_CAPACITY)];
+        int n = 0;
+        for (PostingList list : lists) {
+            System.arraycopy(list.ids, 0, all, n, list.size);
+            n += list.size;
+        }
+        Arrays.sort(all, 0, n);
+
+        // drop duplicates in place
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || all[unique - 1] != all[i]) all[unique++] = all[i];
+        }
+        return new PostingList(all, unique);
+    }
+
+    /**
+     * List of the given IDs in any order (duplicates dropped).
+     * Time Complexity: O(n log n)
+     */
+    public static PostingList of(int... ids) {
+        int[] sorted = Arrays.copyOf(ids, Math.max(ids.length, DEFAULT_CAPACITY));
+        Arrays.sort(sorted, 0, ids.length);
+        int unique = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (unique == 0 || sorted[unique - 1] != sorted[i]) sorted[unique++] = sorted[i];
+        }
+        return new PostingList(sorted, unique);
+    }
+
+    public PostingList copy() {
+        return new PostingList(Arrays.copyOf(ids, Math.max(size, DEFAULT_CAPACITY)), size);
+    }
+
+    /**
+     * Copy of the IDs, ascending.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    private void append(int id) {
+        if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        ids[size++] = id;
+    }
+}
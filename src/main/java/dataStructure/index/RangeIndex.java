@@ -0,0 +1,144 @@
+package dataStructure.index;
+
+import java.util.Arrays;
+
+/**
+ * RangeIndex - Sorted index over one int field for range queries ("year 1990..2000").
+ *
+ * PURPOSE: Answer value-range filters on numeric book fields without scanning the catalog.
+ * Used in LibrarySystem for Book.publishYear and Book.pageCount.
+ *
+ * DATA STRUCTURE: Sorted long[] of packed (value, id) pairs + small unsorted insert buffer
+ * Why packed longs: value in the high 32 bits and id in the low 32 bits, so one primitive
+ * array sorted by value (ties by id) holds the whole index, with no objects per entry.
+ * A range is two binary searches and the entries between them.
+ * Why insert buffer: inserting into the middle of a sorted array shifts it; new entries are
+ * appended to a buffer instead and merged in one pass (sort buffer + merge) when the buffer
+ * fills up or before the next query, so bulk loading n books costs O(n log n), not O(n^2).
+ *
+ * COMPLEXITY ANALYSIS (n entries, m results, p buffered inserts):
+ * - add: O(1) amortized (merge cost O(n + p log p) spread over the p buffered inserts)
+ * - remove: O(n) (array shift)
+ * - range: O(log n + m), count: O(log n) - after merging any buffered inserts
+ */
+public class RangeIndex {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MIN_BUFFER = 64;
+
+    private long[] sorted = new long[DEFAULT_CAPACITY];
+    private int size;
+
+    private long[] buffer = new long[MIN_BUFFER];
+    private int bufferSize;
+
+    public int size() {
+        return size + bufferSize;
+    }
+
+    public void add(int value, int id) {
+        if (bufferSize == buffer.length) {
+            if (bufferSize >= Math.max(MIN_BUFFER, size / 8)) {
+                merge();
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        buffer[bufferSize++] = pack(value, id);
+    }
+
+    /**
+     * @return false if (value, id) was not indexed
+     */
+    public boolean remove(int value, int id) {
+        merge();
+        int pos = Arrays.binarySearch(sorted, 0, size, pack(value, id));
+        if (pos < 0) return false;
+        System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * IDs whose value is in [min, max], ordered by value (ties by id).
+     * Time Complexity: O(log n + m)
+     */
+    public int[] range(int min, int max) {
+        if (min > max) return new int[0];
+        merge();
+        int from = lowerBound(pack(min, 0));
+        int to = upperBound(pack(max, -1));
+
+        int[] ids = new int[to - from];
+        for (int i = from; i < to; i++) {
+            ids[i - from] = (int) sorted[i];
+        }
+        return ids;
+    }
+
+    /**
+     * Number of entries whose value is in [min, max], without materializing them.
+     * Time Complexity: O(log n)
+     */
+    public int count(int min, int max) {
+        if (min > max) return 0;
+        merge();
+        return upperBound(pack(max, -1)) - lowerBound(pack(min, 0));
+    }
+
+    /**
+     * Sort the insert buffer and merge it into the sorted array in one backward pass.
+     */
+    private void merge() {
+        if (bufferSize == 0) return;
+        Arrays.sort(buffer, 0, bufferSize);
+        if (size + bufferSize > sorted.length) {
+            sorted = Arrays.copyOf(sorted, Math.max(sorted.length * 2, size + bufferSize));
+        }
+
+        int i = size - 1, j = bufferSize - 1, k = size + bufferSize - 1;
+        while (j >= 0) {
+            if (i >= 0 && sorted[i] > buffer[j]) {
+                sorted[k--] = sorted[i--];
+            } else {
+                sorted[k--] = buffer[j--];
+            }
+        }
+        size += bufferSize;
+        bufferSize = 0;
+    }
+
+    /**
+     * First position whose entry is >= key.
+     */
+    private int lowerBound(long key) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * First position whose entry is > key.
+     */
+    private int upperBound(long key) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Value in the high 32 bits, id as unsigned low 32 bits: pack(v, 0) is the smallest and
+     * pack(v, -1) the largest key for value v.
+     */
+    private static long pack(int value, int id) {
+        return ((long) value << 32) | (id & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,135 @@
+package dataStructure.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * TokenTrie - Inverted index from tokens to posting lists, with prefix lookup.
+ *
+ * PURPOSE: Word-based search where the user may type only the start of a word.
+ * Used in LibrarySystem for author search ("tolk" finds "J.R.R. Tolkien").
+ *
+ * DATA STRUCTURE: Character trie, each node holding the PostingList of the token ending there
+ * Why trie: every token sharing a prefix lives in one subtree, so prefix lookup visits only
+ * matching tokens instead of the whole vocabulary.
+ * Children are kept in a sorted char array (binary search), which is compact for the
+ * small fan-out of natural-language tokens.
+ *
+ * COMPLEXITY ANALYSIS (L = token length):
+ * - add / remove: O(L log 36) + posting list update
+ * - get (exact token): O(L log 36)
+ * - prefix: O(L log 36 + t + T log T) for t matching tokens with T IDs in total
+ */
+public class TokenTrie {
+
+    private static class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        PostingList postings; // IDs for the token ending at this node, null if none
+
+        Node child(char c) {
+            int pos = Arrays.binarySearch(keys, c);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        Node addChild(char c) {
+            int pos = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, keys.length - pos);
+            Node child = new Node();
+            newKeys[pos] = c;
+            newChildren[pos] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int pos = Arrays.binarySearch(keys, c);
+            if (pos < 0) return;
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[keys.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            System.arraycopy(keys, pos + 1, newKeys, pos, keys.length - pos - 1);
+            System.arraycopy(children, pos + 1, newChildren, pos, keys.length - pos - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return keys.length == 0 && (postings == null || postings.isEmpty());
+        }
+    }
+
+    private final Node root = new Node();
+
+    public void add(String token, int id) {
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            Node next = node.child(token.charAt(i));
+            if (next == null) next = node.addChild(token.charAt(i));
+            node = next;
+        }
+        if (node.postings == null) node.postings = new PostingList();
+        node.postings.add(id);
+    }
+
+    /**
+     * Remove id from token's postings and prune nodes left without tokens.
+     */
+    public void remove(String token, int id) {
+        Node[] path = new Node[token.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.child(token.charAt(i));
+            if (node == null) return;
+            path[i + 1] = node;
+        }
+        if (node.postings == null || !node.postings.remove(id)) return;
+        if (node.postings.isEmpty()) node.postings = null;
+
+        for (int i = token.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(token.charAt(i - 1));
+        }
+    }
+
+    /**
+     * IDs indexed under exactly this token (empty list if none). Do not modify the result.
+     */
+    public PostingList get(String token) {
+        Node node = locate(token);
+        return (node == null || node.postings == null) ? new PostingList() : node.postings;
+    }
+
+    /**
+     * IDs indexed under any token starting with prefix, as a new list.
+     */
+    public PostingList prefix(String prefix) {
+        Node start = locate(prefix);
+        ArrayList<PostingList> lists = new ArrayList<>();
+        if (start == null) return new PostingList();
+
+        ArrayList<Node> stack = new ArrayList<>();
+        stack.add(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            if (node.postings != null) lists.add(node.postings);
+            for (Node child : node.children) stack.add(child);
+        }
+        return PostingList.unionOf(lists);
+    }
+
+    private Node locate(String token) {
+        Node node = root;
+        for (int i = 0; i < token.length() && node != null; i++) {
+            node = node.child(token.charAt(i));
+        }
+        return node;
+    }
+}
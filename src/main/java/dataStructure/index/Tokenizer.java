@@ -0,0 +1,36 @@
+package dataStructure.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tokenizer - Splits free text into normalized search tokens.
+ *
+ * A token is a maximal run of letters or digits, lowercased:
+ * "J.R.R. Tolkien" -> [j, r, r, tolkien]
+ *
+ * Index and query text go through the same tokenizer, so they always agree on
+ * what a "word" is. Time Complexity: O(length of text)
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,106 @@
+package dataStructure.index;
+
+import dataStructure.hashtable.IntHashTable;
+
+import java.util.ArrayList;
+
+/**
+ * TrigramIndex - N-gram (n = 3) inverted index for arbitrary substring search.
+ *
+ * PURPOSE: Find books whose fields contain a query anywhere, not just at a word start.
+ * Used in LibrarySystem for "any field" search (title/author/isbn/category).
+ *
+ * DATA STRUCTURE: IntHashTable from packed trigram -> PostingList of IDs
+ * Why trigrams: every substring of length >= 3 of a field contains all trigrams of the
+ * query, so intersecting the query trigrams' posting lists gives a small candidate set
+ * that is guaranteed to contain every match. Candidates are then verified by the caller.
+ * Why packed int keys: three chars fit in 30 bits when each is below 1024, so the table
+ * needs no String per trigram. Rarer characters are folded into the key with a hash,
+ * which can only merge postings (extra candidates), never lose a match.
+ *
+ * COMPLEXITY ANALYSIS (F = total field length of a document, Q = query length):
+ * - add / remove: O(F) posting list updates
+ * - candidates: O(Q) lookups + intersections, starting from the shortest list
+ *
+ * Queries shorter than MIN_QUERY_LENGTH have no trigram; candidates() returns null and
+ * the caller falls back to a scan.
+ */
+public class TrigramIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final IntHashTable<PostingList> postings = new IntHashTable<>();
+
+    /**
+     * Index document id under every trigram of each field (fields are lowercased,
+     * trigrams never span two fields).
+     */
+    public void add(int id, String... fields) {
+        for (String field : fields) {
+            if (field == null) continue;
+            String text = field.toLowerCase();
+            for (int i = 0; i + MIN_QUERY_LENGTH <= text.length(); i++) {
+                int key = pack(text, i);
+                PostingList list = postings.get(key);
+                if (list == null) {
+                    list = new PostingList();
+                    postings.put(key, list);
+                }
+                list.add(id);
+            }
+        }
+    }
+
+    /**
+     * Remove document id; fields must be the same values it was added with.
+     */
+    public void remove(int id, String... fields) {
+        for (String field : fields) {
+            if (field == null) continue;
+            String text = field.toLowerCase();
+            for (int i = 0; i + MIN_QUERY_LENGTH <= text.length(); i++) {
+                int key = pack(text, i);
+                PostingList list = postings.get(key);
+                if (list != null && list.remove(id) && list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * IDs of documents that may contain query as a substring (a superset of the matches),
+     * or null if query is too short to use the index.
+     */
+    public PostingList candidates(String query) {
+        if (query == null || query.length() < MIN_QUERY_LENGTH) return null;
+        String text = query.toLowerCase();
+
+        ArrayList<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + MIN_QUERY_LENGTH <= text.length(); i++) {
+            PostingList list = postings.get(pack(text, i));
+            if (list == null) return new PostingList();
+            lists.add(list);
+        }
+
+        // Intersect shortest first so the running result shrinks as fast as possible
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        PostingList result = lists.get(0).copy();
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result = result.intersect(lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * The trigram at text[i..i+2] as an int: exact when every char is below 1024.
+     */
+    private static int pack(String text, int i) {
+        char a = text.charAt(i), b = text.charAt(i + 1), c = text.charAt(i + 2);
+        if ((a | b | c) < 1024) {
+            return (a << 20) | (b << 10) | c;
+        }
+        // Outside the exact range: hash into the negative keys, which exact keys never use
+        return ((a * 31 + b) * 31 + c) | 0x80000000;
+    }
+}
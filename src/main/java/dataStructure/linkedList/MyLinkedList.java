@@ -1,28 +1,35 @@
 package dataStructure.linkedList;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
 /**
- * MyLinkedList - Singly linked list implementation.
- * 
+ * MyLinkedList - Doubly linked list implementation with head and tail pointers.
+ *
  * PURPOSE: Dynamic collection that efficiently handles frequent additions/removals.
  * Used in LibrarySystem for:
  * - Member's active books list (frequently changes)
  * - Member's loan history (grows dynamically)
  * - Global loan history tracking
- * 
- * DATA STRUCTURE: Singly Linked List
+ *
+ * DATA STRUCTURE: Doubly Linked List
  * Why LinkedList: O(1) add/remove at ends, efficient for dynamic collections.
  * Better than ArrayList when frequent insertions/deletions occur.
- * 
+ *
  * COMPLEXITY ANALYSIS:
- * - add (at end): O(1)
+ * - add (at end): O(1) - tail pointer, no walk to the end
  * - add (at index): O(n) worst case
- * - get: O(n) - must traverse from head
- * - remove: O(n) worst case
+ * - get: O(n) - walks from whichever end is closer
+ * - remove: O(n) worst case, O(1) through iterator.remove()
  * - contains: O(n)
- * 
+ * - full scan with for-each / iterator: O(n) total
+ *
  * TRADE-OFF: Slower random access O(n) vs faster insertions O(1) compared to ArrayList.
+ * Callers should scan with for-each instead of get(i) loops, which are O(n^2).
  */
-public class MyLinkedList<T> {
+public class MyLinkedList<T> implements Iterable<T> {
 
     /**
      * Inner class representing a node in the linked list.
@@ -30,6 +37,7 @@ public class MyLinkedList<T> {
     private static class Node<T> {
         T data;
         Node<T> next;
+        Node<T> prev;
 
         Node(T data) {
             this.data = data;
@@ -40,14 +48,25 @@ public class MyLinkedList<T> {
      * Head of the linked list (first node).
      */
     private Node<T> head;
-    
+
+    /**
+     * Tail of the linked list (last node), kept so add() is O(1).
+     */
+    private Node<T> tail;
+
     /**
      * Current size of the list.
      */
     private int size;
 
+    /**
+     * Structural modification counter, lets iterators fail fast on concurrent changes.
+     */
+    private int modCount;
+
     public MyLinkedList() {
         head = null;
+        tail = null;
         size = 0;
     }
 
@@ -55,82 +74,54 @@ public class MyLinkedList<T> {
     // Add element at end
     // ------------------------------
     public void add(T element) {
-        Node<T> newNode = new Node<>(element);
-
-        if (head == null) {
-            head = newNode;
-        } else {
-            Node<T> current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = newNode;
-        }
-
-        size++;
+        linkAfter(tail, new Node<>(element));
     }
 
     // ------------------------------
     // Add element at index
     // ------------------------------
     public void add(int index, T element) {
-        if (index < 0 || index > size) 
+        if (index < 0 || index > size)
             throw new IndexOutOfBoundsException("Index: " + index);
 
         Node<T> newNode = new Node<>(element);
-
         if (index == 0) {
-            newNode.next = head;
-            head = newNode;
+            linkAfter(null, newNode);
         } else {
-            Node<T> current = head;
-            for (int i = 0; i < index - 1; i++) {
-                current = current.next;
-            }
-            newNode.next = current.next;
-            current.next = newNode;
+            linkAfter(node(index - 1), newNode);
         }
-
-        size++;
     }
 
     // ------------------------------
     // Get element by index
     // ------------------------------
     public T get(int index) {
-        if (index < 0 || index >= size) 
+        if (index < 0 || index >= size)
             throw new IndexOutOfBoundsException("Index: " + index);
 
-        Node<T> current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
-        }
+        return node(index).data;
+    }
+
+    public T getFirst() {
+        if (head == null) throw new NoSuchElementException();
+        return head.data;
+    }
 
-        return current.data;
+    public T getLast() {
+        if (tail == null) throw new NoSuchElementException();
+        return tail.data;
     }
 
     // ------------------------------
     // Remove element BY VALUE
     // ------------------------------
     public boolean remove(T element) {
-        if (head == null) return false;
-
-        if (head.data.equals(element)) {
-            head = head.next;
-            size--;
-            return true;
-        }
-
-        Node<T> current = head;
-        while (current.next != null) {
-            if (current.next.data.equals(element)) {
-                current.next = current.next.next;
-                size--;
+        for (Node<T> current = head; current != null; current = current.next) {
+            if (Objects.equals(current.data, element)) {
+                unlink(current);
                 return true;
             }
-            current = current.next;
         }
-
         return false;
     }
 
@@ -141,23 +132,22 @@ public class MyLinkedList<T> {
         if (index < 0 || index >= size)
             throw new IndexOutOfBoundsException("Index: " + index);
 
-        if (index == 0) {
-            T removed = head.data;
-            head = head.next;
-            size--;
-            return removed;
-        }
-
-        Node<T> current = head;
-
-        for (int i = 0; i < index - 1; i++) {
-            current = current.next;
-        }
+        Node<T> target = node(index);
+        unlink(target);
+        return target.data;
+    }
 
-        T removed = current.next.data;
-        current.next = current.next.next;
-        size--;
+    public T removeFirst() {
+        if (head == null) throw new NoSuchElementException();
+        T removed = head.data;
+        unlink(head);
+        return removed;
+    }
 
+    public T removeLast() {
+        if (tail == null) throw new NoSuchElementException();
+        T removed = tail.data;
+        unlink(tail);
         return removed;
     }
 
@@ -165,10 +155,8 @@ public class MyLinkedList<T> {
     // Contains check
     // ------------------------------
     public boolean contains(T element) {
-        Node<T> current = head;
-        while (current != null) {
-            if (current.data.equals(element)) return true;
-            current = current.next;
+        for (Node<T> current = head; current != null; current = current.next) {
+            if (Objects.equals(current.data, element)) return true;
         }
         return false;
     }
@@ -189,7 +177,93 @@ public class MyLinkedList<T> {
     // ------------------------------
     public void clear() {
         head = null;
+        tail = null;
         size = 0;
+        modCount++;
+    }
+
+    // ------------------------------
+    // Iteration
+    // ------------------------------
+
+    /**
+     * Iterator from head to tail. Its remove() unlinks the current node in O(1).
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> nextNode = head;
+            private Node<T> lastReturned = null;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return nextNode != null;
+            }
+
+            @Override
+            public T next() {
+                checkForComodification();
+                if (nextNode == null) throw new NoSuchElementException();
+                lastReturned = nextNode;
+                nextNode = nextNode.next;
+                return lastReturned.data;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) throw new IllegalStateException();
+                checkForComodification();
+                unlink(lastReturned);
+                lastReturned = null;
+                expectedModCount = modCount;
+            }
+
+            private void checkForComodification() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            }
+        };
+    }
+
+    // ------------------------------
+    // Node helpers
+    // ------------------------------
+
+    /**
+     * Node at index, walking from the closer end. Index must be valid.
+     */
+    private Node<T> node(int index) {
+        Node<T> current;
+        if (index < size / 2) {
+            current = head;
+            for (int i = 0; i < index; i++) current = current.next;
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) current = current.prev;
+        }
+        return current;
+    }
+
+    /**
+     * Insert newNode after pred (pred == null means at the head).
+     */
+    private void linkAfter(Node<T> pred, Node<T> newNode) {
+        Node<T> succ = (pred == null) ? head : pred.next;
+        newNode.prev = pred;
+        newNode.next = succ;
+        if (pred == null) head = newNode; else pred.next = newNode;
+        if (succ == null) tail = newNode; else succ.prev = newNode;
+        size++;
+        modCount++;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev == null) head = node.next; else node.prev.next = node.next;
+        if (node.next == null) tail = node.prev; else node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        size--;
+        modCount++;
     }
 
     // ------------------------------
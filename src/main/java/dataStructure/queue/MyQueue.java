@@ -1,60 +1,173 @@
 package dataStructure.queue;
 
-import dataStructure.linkedList.MyLinkedList;
+import dataStructure.hashtable.HashTable;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
- * MyQueue - Queue implementation using LinkedList (FIFO - First In First Out).
- * 
+ * MyQueue - Queue implementation using a growable circular array (FIFO - First In First Out).
+ *
  * PURPOSE: Maintain fair waitlist for books (first-come-first-served).
  * Used in Book class for managing waitlist when books are unavailable.
- * 
- * DATA STRUCTURE: Queue (implemented using LinkedList)
+ *
+ * DATA STRUCTURE: Queue (implemented as a ring buffer)
  * Why Queue: Ensures FIFO order - first member to request gets book first.
  * Critical for fair distribution of limited resources (books).
- * 
+ * Why ring buffer: head and tail indexes wrap around one array, so dequeue never
+ * shifts or searches elements and the queue allocates nothing per element.
+ *
+ * MEMBERSHIP INDEX (optional):
+ * A queue created with uniqueElements = true keeps a HashTable of the queued elements,
+ * so enqueue() rejects duplicates and contains() runs in O(1).
+ * Used for book waitlists so one member cannot hold several reservations for one title.
+ *
  * COMPLEXITY ANALYSIS:
- * - enqueue: O(1) - add to end of list
- * - dequeue: O(1) - remove from front of list
- * - peek: O(1) - access first element
- * 
+ * - enqueue: O(1) amortized (array doubles when full)
+ * - dequeue: O(1)
+ * - peek: O(1)
+ * - contains: O(1) average with membership index, O(n) without
+ *
  * OPERATIONS:
  * - enqueue: Add element to back (FIFO)
  * - dequeue: Remove element from front (FIFO)
  */
-public class MyQueue<T> {
+public class MyQueue<T> implements Iterable<T> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
     /**
-     * Underlying LinkedList used to implement queue operations.
+     * Ring buffer. Live elements are items[head], items[head+1], ... (mod length), size of them.
      */
-    private MyLinkedList<T> list;
+    private Object[] items;
+    private int head;
+    private int size;
 
     /**
-     * Constructor: Creates empty queue.
+     * Elements currently queued (null when duplicates are allowed).
+     */
+    private final HashTable<T, Boolean> members;
+
+    private int modCount;
+
+    /**
+     * Constructor: Creates empty queue that accepts duplicate elements.
      */
     public MyQueue() {
-        list = new MyLinkedList<>();
+        this(false);
     }
 
-    public void enqueue(T element) {
-        list.add(element);
+    /**
+     * @param uniqueElements true to keep a membership index and reject duplicate elements
+     */
+    public MyQueue(boolean uniqueElements) {
+        this(uniqueElements, 0);
+    }
+
+    /**
+     * @param uniqueElements true to keep a membership index and reject duplicate elements
+     * @param salt Hash salt of the membership index (student ID), same as the library's tables
+     */
+    public MyQueue(boolean uniqueElements, int salt) {
+        items = new Object[DEFAULT_CAPACITY];
+        head = 0;
+        size = 0;
+        members = uniqueElements ? new HashTable<>(salt) : null;
+    }
+
+    /**
+     * Add element to the back of the queue.
+     * Time Complexity: O(1) amortized
+     *
+     * @return false if the queue keeps unique elements and element is already queued
+     */
+    public boolean enqueue(T element) {
+        if (members != null) {
+            if (members.get(element) != null) return false;
+            members.put(element, Boolean.TRUE);
+        }
+        if (size == items.length) grow();
+        items[(head + size) % items.length] = element;
+        size++;
+        modCount++;
+        return true;
     }
 
     public T dequeue() {
         if (isEmpty()) return null;
-        T removed = list.get(0);
-        list.remove(removed);
+        T removed = elementAt(0);
+        items[head] = null;
+        head = (head + 1) % items.length;
+        size--;
+        modCount++;
+        if (members != null) members.remove(removed);
         return removed;
     }
 
     public T peek() {
         if (isEmpty()) return null;
-        return list.get(0);
+        return elementAt(0);
+    }
+
+    /**
+     * Time Complexity: O(1) average with membership index, O(n) otherwise
+     */
+    public boolean contains(T element) {
+        if (members != null) return element != null && members.get(element) != null;
+        for (int i = 0; i < size; i++) {
+            T item = elementAt(i);
+            if (item == null ? element == null : item.equals(element)) return true;
+        }
+        return false;
     }
 
     public boolean isEmpty() {
-        return list.size() == 0;
+        return size == 0;
     }
 
     public int size() {
-        return list.size();
+        return size;
+    }
+
+    /**
+     * Read-only FIFO iteration (front to back) without dequeuing.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int offset = 0;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return offset < size;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (offset >= size) throw new NoSuchElementException();
+                return elementAt(offset++);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int offset) {
+        return (T) items[(head + offset) % items.length];
+    }
+
+    /**
+     * Double the array and unwrap the elements to start at index 0.
+     * Time Complexity: O(n), amortized O(1) per enqueue
+     */
+    private void grow() {
+        Object[] bigger = new Object[items.length * 2];
+        for (int i = 0; i < size; i++) {
+            bigger[i] = items[(head + i) % items.length];
+        }
+        items = bigger;
+        head = 0;
     }
 }
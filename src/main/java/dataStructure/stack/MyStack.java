@@ -1,51 +1,94 @@
 package dataStructure.stack;
 
-import dataStructure.linkedList.MyLinkedList;
-
 /**
- * MyStack - Stack implementation using LinkedList (LIFO - Last In First Out).
- * 
+ * MyStack - Stack implementation using a circular array (LIFO - Last In First Out).
+ *
  * PURPOSE: Implement undo functionality - most recent actions undone first.
  * Used in UndoManager for storing undo actions.
- * 
- * DATA STRUCTURE: Stack (implemented using LinkedList)
+ *
+ * DATA STRUCTURE: Stack (implemented as a ring buffer)
  * Why Stack: LIFO behavior matches undo semantics - undo most recent first.
- * 
+ * Why ring buffer: push/pop touch only the top slot, and the oldest element (bottom)
+ * can also be dropped in O(1), which is what a bounded undo history needs.
+ *
+ * BOUNDED MODE:
+ * A stack created with maxSize > 0 never holds more than maxSize elements.
+ * Pushing onto a full stack evicts the bottom (oldest) element and returns it.
+ *
  * COMPLEXITY ANALYSIS:
- * - push: O(1) - add to end of list
- * - pop: O(1) - remove from end of list
- * - peek: O(1) - access last element
- * 
+ * - push: O(1) amortized (unbounded stack doubles when full), O(1) when bounded
+ * - pop: O(1) - remove top slot
+ * - peek: O(1) - access top slot
+ * - removeBottom: O(1) - drop oldest element
+ *
  * EDGE CASE HANDLING:
  * - Empty stack pop: Returns null and prints message
  * - Empty stack peek: Returns null and prints message
- * 
+ *
  * OPERATIONS:
  * - push: Add element to top (LIFO)
  * - pop: Remove element from top (LIFO)
  */
 public class MyStack <T>{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
     /**
-     * Underlying LinkedList used to implement stack operations.
+     * Ring buffer. Elements from bottom to top are items[bottom], items[bottom+1], ... (mod length).
      */
-    private MyLinkedList<T> list;
-    
+    private Object[] items;
+    private int bottom;
+    private int size;
+
+    /**
+     * Maximum number of elements, or 0 for unbounded.
+     */
+    private final int maxSize;
+
     /**
-     * Constructor: Creates empty stack.
+     * Constructor: Creates empty unbounded stack.
      */
     public MyStack(){
-        list = new MyLinkedList<>();
+        this(0);
+    }
+
+    /**
+     * Constructor: Creates empty stack that keeps at most maxSize elements.
+     *
+     * @param maxSize Element limit, or 0 for unbounded
+     */
+    public MyStack(int maxSize){
+        if (maxSize < 0) throw new IllegalArgumentException("maxSize cannot be negative");
+        this.maxSize = maxSize;
+        this.items = new Object[maxSize > 0 ? Math.min(maxSize, DEFAULT_CAPACITY) : DEFAULT_CAPACITY];
+        this.bottom = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Push element on top.
+     *
+     * @return the evicted bottom element if the bounded stack was full, otherwise null
+     */
+    public T push(T element){
+    T evicted = null;
+    if (maxSize > 0 && size == maxSize) {
+        evicted = removeBottom();
     }
-    public void push(T element){
-    list.add(element);
+    if (size == items.length) grow();
+    items[(bottom + size) % items.length] = element;
+    size++;
+    return evicted;
     }
     public T pop(){
     if(isEmpty()){
     System.out.println("Undo is not possible, stack is empty!");
     return null;
     }
-    T last = list.get(list.size() -1);
-    list.remove(last);
+    int top = (bottom + size - 1) % items.length;
+    T last = elementAt(top);
+    items[top] = null;
+    size--;
     return last;
     }
     public T peek(){
@@ -53,13 +96,48 @@ public class MyStack <T>{
     System.out.println("The stack is empty, there are no elements!");
     return null;
     }
-    return list.get(list.size()-1);
+    return elementAt((bottom + size - 1) % items.length);
+    }
+
+    /**
+     * Remove and return the oldest element, or null if empty.
+     * Time Complexity: O(1)
+     */
+    public T removeBottom(){
+    if(isEmpty()) return null;
+    T oldest = elementAt(bottom);
+    items[bottom] = null;
+    bottom = (bottom + 1) % items.length;
+    size--;
+    return oldest;
     }
     public boolean isEmpty(){
-    return list.isEmpty();
+    return size == 0;
     }
     public int size(){
-    return list.size();
+    return size;
+    }
+    public int getMaxSize(){
+    return maxSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index){
+    return (T) items[index];
     }
-    
+
+    /**
+     * Double the array (capped at maxSize when bounded) and unwrap elements to start at 0.
+     */
+    private void grow(){
+    int newLength = items.length * 2;
+    if (maxSize > 0) newLength = Math.min(newLength, maxSize);
+    Object[] bigger = new Object[newLength];
+    for (int i = 0; i < size; i++) {
+        bigger[i] = items[(bottom + i) % items.length];
+    }
+    items = bigger;
+    bottom = 0;
+    }
+
 }
@@ -1,122 +1,277 @@
-package dataStructure.tree;
-
-public class BST<T extends Comparable<T>> {
-
-    private TreeNode<T> root;
-    private int size;
-
-    public BST() {
-        root = null;
-        size = 0;
-    }
-
-    public void add(T key) {
-        root = addRecursive(root, key);
-    }
-
-    private TreeNode<T> addRecursive(TreeNode<T> node, T key) {
-        if (node == null) {
-            size++;  
-            return new TreeNode<>(key);
-        }
-
-        if (key.compareTo(node.key) < 0) {
-            node.left = addRecursive(node.left, key);
-        }
-        else if (key.compareTo(node.key) > 0) {
-            node.right = addRecursive(node.right, key);
-        }
-
-        return node; 
-    }
-
-    public boolean contains(T key) {
-        return containsRecursive(root, key);
-    }
-
-    private boolean containsRecursive(TreeNode<T> node, T key) {
-        if (node == null) return false;
-
-        if (key.compareTo(node.key) == 0)
-            return true;
-        else if (key.compareTo(node.key) < 0)
-            return containsRecursive(node.left, key);
-        else
-            return containsRecursive(node.right, key);
-    }
-
-    public void inorder() {
-        inorderRecursive(root);
-        System.out.println();
-    }
-
-    private void inorderRecursive(TreeNode<T> node) {
-        if (node == null) return;
-        inorderRecursive(node.left);
-        System.out.print(node.key + " ");
-        inorderRecursive(node.right);
-    }
-
-    public void remove(T key) {
-        root = removeRecursive(root, key);
-    }
-
-    private TreeNode<T> removeRecursive(TreeNode<T> node, T key) {
-        if (node == null) return null;
-
-        if (key.compareTo(node.key) < 0) {
-            node.left = removeRecursive(node.left, key);
-        }
-        else if (key.compareTo(node.key) > 0) {
-            node.right = removeRecursive(node.right, key);
-        }
-        else {
-            size--; 
-
-            if (node.left == null && node.right == null) {
-                return null;
-            }
-            else if (node.left == null) {
-                return node.right;
-            }
-            else if (node.right == null) {
-                return node.left;
-            }
-            else {
-                T minValue = findMin(node.right);
-                node.key = minValue;
-                node.right = removeRecursive(node.right, minValue);
-            }
-        }
-
-        return node;
-    }
-
-    public int size() {
-        return size;
-    }
-
-    public boolean isEmpty() {
-        return size == 0;
-    }
-
-    public T getMin() {
-        if (root == null) return null;
-        TreeNode<T> current = root;
-        while (current.left != null) current = current.left;
-        return current.key;
-    }
-
-    public T getMax() {
-        if (root == null) return null;
-        TreeNode<T> current = root;
-        while (current.right != null) current = current.right;
-        return current.key;
-    }
-
-    private T findMin(TreeNode<T> node) {
-        while (node.left != null)
-            node = node.left;
-        return node.key;
-    }
-}
+package dataStructure.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BST - Balanced order-statistic search tree (AVL tree with subtree sizes).
+ *
+ * PURPOSE: Keep keys sorted and answer positional queries ("the i-th key", "page N").
+ * Used in LibrarySystem for sorted, paginated catalog listings by title and by ID.
+ *
+ * DATA STRUCTURE: AVL tree, every node also stores the size of its subtree
+ * Why AVL: height stays O(log n) for any insertion order (IDs arrive sorted).
+ * Why subtree sizes: rank and select walk one root-to-leaf path, so jumping to
+ * page 5,000 costs O(log n) instead of skipping 100,000 entries in order.
+ *
+ * COMPLEXITY ANALYSIS:
+ * - add / remove / contains: O(log n)
+ * - rank / select: O(log n)
+ * - range(from, count): O(log n + count)
+ *
+ * Keys are unique: adding a key that compares equal to an existing key does nothing.
+ */
+public class BST<T extends Comparable<T>> {
+
+    private TreeNode<T> root;
+
+    public BST() {
+        root = null;
+    }
+
+    public void add(T key) {
+        root = addRecursive(root, key);
+    }
+
+    private TreeNode<T> addRecursive(TreeNode<T> node, T key) {
+        if (node == null) {
+            return new TreeNode<>(key);
+        }
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            node.left = addRecursive(node.left, key);
+        }
+        else if (cmp > 0) {
+            node.right = addRecursive(node.right, key);
+        }
+        else {
+            return node;
+        }
+
+        return balance(node);
+    }
+
+    public boolean contains(T key) {
+        return containsRecursive(root, key);
+    }
+
+    private boolean containsRecursive(TreeNode<T> node, T key) {
+        if (node == null) return false;
+
+        if (key.compareTo(node.key) == 0)
+            return true;
+        else if (key.compareTo(node.key) < 0)
+            return containsRecursive(node.left, key);
+        else
+            return containsRecursive(node.right, key);
+    }
+
+    public void inorder() {
+        inorderRecursive(root);
+        System.out.println();
+    }
+
+    private void inorderRecursive(TreeNode<T> node) {
+        if (node == null) return;
+        inorderRecursive(node.left);
+        System.out.print(node.key + " ");
+        inorderRecursive(node.right);
+    }
+
+    public void remove(T key) {
+        root = removeRecursive(root, key);
+    }
+
+    private TreeNode<T> removeRecursive(TreeNode<T> node, T key) {
+        if (node == null) return null;
+
+        if (key.compareTo(node.key) < 0) {
+            node.left = removeRecursive(node.left, key);
+        }
+        else if (key.compareTo(node.key) > 0) {
+            node.right = removeRecursive(node.right, key);
+        }
+        else {
+            if (node.left == null && node.right == null) {
+                return null;
+            }
+            else if (node.left == null) {
+                return node.right;
+            }
+            else if (node.right == null) {
+                return node.left;
+            }
+            else {
+                T minValue = findMin(node.right);
+                node.key = minValue;
+                node.right = removeRecursive(node.right, minValue);
+            }
+        }
+
+        return balance(node);
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public T getMin() {
+        if (root == null) return null;
+        TreeNode<T> current = root;
+        while (current.left != null) current = current.left;
+        return current.key;
+    }
+
+    public T getMax() {
+        if (root == null) return null;
+        TreeNode<T> current = root;
+        while (current.right != null) current = current.right;
+        return current.key;
+    }
+
+    private T findMin(TreeNode<T> node) {
+        while (node.left != null)
+            node = node.left;
+        return node.key;
+    }
+
+    // ---------------- Order statistics ----------------
+
+    /**
+     * Number of keys strictly smaller than key (its 0-based position if present).
+     * Time Complexity: O(log n)
+     */
+    public int rank(T key) {
+        int rank = 0;
+        TreeNode<T> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp <= 0) {
+                if (cmp == 0) return rank + size(node.left);
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * The key at 0-based position index in sorted order.
+     * Time Complexity: O(log n)
+     *
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    public T select(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Index: " + index);
+
+        TreeNode<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.key;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Up to count keys in sorted order, starting at 0-based position from.
+     * Time Complexity: O(log n + count)
+     *
+     * Descends to position from like select(), stacking the ancestors still to be
+     * visited, then continues as an in-order walk.
+     */
+    public List<T> range(int from, int count) {
+        List<T> result = new ArrayList<>();
+        if (from < 0 || count <= 0 || from >= size()) return result;
+
+        ArrayList<TreeNode<T>> stack = new ArrayList<>();
+        TreeNode<T> node = root;
+        int index = from;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                stack.add(node);
+                node = node.left;
+            } else if (index == leftSize) {
+                stack.add(node);
+                break;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (result.size() < count && !stack.isEmpty()) {
+            node = stack.remove(stack.size() - 1);
+            result.add(node.key);
+            for (TreeNode<T> n = node.right; n != null; n = n.left) {
+                stack.add(n);
+            }
+        }
+        return result;
+    }
+
+    // ---------------- AVL balancing ----------------
+
+    private TreeNode<T> balance(TreeNode<T> node) {
+        update(node);
+        int bf = height(node.left) - height(node.right);
+        if (bf > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (bf < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private TreeNode<T> rotateRight(TreeNode<T> node) {
+        TreeNode<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private TreeNode<T> rotateLeft(TreeNode<T> node) {
+        TreeNode<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(TreeNode<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private int height(TreeNode<T> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private int size(TreeNode<T> node) {
+        return node == null ? 0 : node.size;
+    }
+}
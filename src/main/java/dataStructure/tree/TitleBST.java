@@ -2,32 +2,54 @@ package dataStructure.tree;
 
 import models.Book;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import dataStructure.linkedList.MyLinkedList;
 
 /**
- * TitleBST - Binary Search Tree for efficient title-based book search.
- * 
+ * TitleBST - Self-balancing (AVL) Binary Search Tree for efficient title-based book search.
+ *
  * PURPOSE: Maintain sorted index of books by title for fast prefix search.
  * Used in LibrarySystem for O(log n) title search instead of O(n) linear search.
- * 
- * DATA STRUCTURE: Binary Search Tree (BST)
- * Why BST: Provides O(log n) average search time for sorted data.
- * Better than linear search O(n) when searching by title prefix.
- * 
+ *
+ * DATA STRUCTURE: AVL Tree (height-balanced BST)
+ * Why BST: Keeps titles sorted, so all titles with a prefix form one contiguous in-order run.
+ * Why AVL: A plain BST degenerates into a linked list when a catalog is imported in title
+ * order. AVL rotations keep the height below 1.44 log n for any insertion order.
+ *
+ * NON-RECURSIVE: add/remove/searchByTitlePrefix walk the tree with loops and record the
+ * visited nodes in a fixed-size path array, so deep trees cannot cause a StackOverflowError.
+ *
  * COMPLEXITY ANALYSIS:
- * - add: O(log n) average, O(n) worst case (unbalanced tree)
- * - remove: O(log n) average, O(n) worst case
- * - searchByTitlePrefix: O(log n + m) where m is number of matches
- * 
- * NOTE: For production, AVL tree would provide guaranteed O(log n) performance,
- * but BST is sufficient for this assignment's requirements.
+ * - add: O(log n) guaranteed
+ * - remove: O(log n) guaranteed (plus the title's book list scan)
+ * - searchByTitlePrefix: O(log n + m) where m is number of matches, results sorted by title
+ * - cursor: O(log n) to open, O(1) amortized per book returned
+ *
+ * LAZY CURSOR: cursor(prefix) walks the matches in title order one book at a time, so a
+ * caller showing 20 rows only visits ~20 nodes. Books with the same title are kept in
+ * bookId order, which makes (title, bookId) a stable position: resumeToken() encodes it and
+ * cursor(prefix, token) continues right after it.
  */
 public class TitleBST {
+
+    /**
+     * Upper bound on AVL height: 1.44 log2(n) stays below 64 for any int-sized tree.
+     */
+    private static final int MAX_HEIGHT = 64;
+
+    /**
+     * Separates the title key from the book ID in a resume token (ID is after the last one).
+     */
+    private static final char TOKEN_SEPARATOR = '#';
+
     private class Node {
         String key; // normalized title
         MyLinkedList<Book> books; // if same title appear multiple times
         Node left, right;
+        int height = 1;
         Node(String k, Book b) {
             key = k;
             books = new MyLinkedList<>();
@@ -37,70 +59,319 @@ public class TitleBST {
 
     private Node root;
 
+    /**
+     * Structural modification counter, lets open cursors fail fast.
+     */
+    private int modCount;
+
+    /**
+     * Time Complexity: O(log n)
+     */
     public void add(Book b) {
         String k = normalize(b.getTitle());
-        root = addRec(root, k, b);
-    }
+        modCount++;
+        if (root == null) {
+            root = new Node(k, b);
+            return;
+        }
 
-    private Node addRec(Node node, String k, Book b) {
-        if (node == null) return new Node(k, b);
-        int cmp = k.compareTo(node.key);
-        if (cmp < 0) node.left = addRec(node.left, k, b);
-        else if (cmp > 0) node.right = addRec(node.right, k, b);
-        else node.books.add(b);
-        return node;
+        Node[] path = new Node[MAX_HEIGHT];
+        int depth = 0;
+        Node node = root;
+        while (true) {
+            int cmp = k.compareTo(node.key);
+            if (cmp == 0) {
+                addSorted(node.books, b);
+                return;
+            }
+            path[depth++] = node;
+            Node next = (cmp < 0) ? node.left : node.right;
+            if (next == null) {
+                if (cmp < 0) node.left = new Node(k, b);
+                else node.right = new Node(k, b);
+                break;
+            }
+            node = next;
+        }
+        rebalancePath(path, depth);
     }
 
+    /**
+     * Time Complexity: O(log n)
+     */
     public void remove(Book b) {
         String k = normalize(b.getTitle());
-        root = removeRec(root, k, b);
-    }
 
-    private Node removeRec(Node node, String k, Book b) {
-        if (node == null) return null;
-        int cmp = k.compareTo(node.key);
-        if (cmp < 0) node.left = removeRec(node.left, k, b);
-        else if (cmp > 0) node.right = removeRec(node.right, k, b);
-        else {
-            // remove book from node.books
-            node.books.remove(b);
-            if (node.books.size() == 0) {
-                // remove this node from tree (standard BST delete)
-                if (node.left == null) return node.right;
-                if (node.right == null) return node.left;
-                // both children exist - find min in right subtree
-                Node min = findMin(node.right);
-                node.key = min.key;
-                node.books = min.books;
-                node.right = removeRec(node.right, min.key, null); // remove the min node
+        Node[] path = new Node[MAX_HEIGHT];
+        int depth = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = k.compareTo(node.key);
+            if (cmp == 0) break;
+            path[depth++] = node;
+            node = (cmp < 0) ? node.left : node.right;
+        }
+        if (node == null) return;
+
+        // remove book from node.books
+        if (!node.books.remove(b)) return;
+        modCount++;
+        if (node.books.size() > 0) return;
+
+        Node target = node;
+        if (node.left != null && node.right != null) {
+            // both children exist - move the in-order successor's data here, unlink the successor
+            path[depth++] = node;
+            Node successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
             }
+            node.key = successor.key;
+            node.books = successor.books;
+            target = successor;
         }
-        return node;
-    }
 
-    private Node findMin(Node n) {
-        while (n.left != null) n = n.left;
-        return n;
+        // target has at most one child
+        Node child = (target.left != null) ? target.left : target.right;
+        if (depth == 0) {
+            root = child;
+        } else {
+            Node parent = path[depth - 1];
+            if (parent.left == target) parent.left = child;
+            else parent.right = child;
+        }
+        rebalancePath(path, depth);
     }
 
+    /**
+     * All books whose title starts with prefix, in title order.
+     * Time Complexity: O(log n + m)
+     */
     public List<Book> searchByTitlePrefix(String prefix) {
         List<Book> result = new ArrayList<>();
-        searchPrefixRec(root, normalize(prefix), result);
+        Cursor cursor = cursor(prefix);
+        while (cursor.hasNext()) result.add(cursor.next());
         return result;
     }
 
-    private void searchPrefixRec(Node node, String prefix, List<Book> result) {
-        if (node == null) return;
-        if (node.key.startsWith(prefix)) {
-            // collect all in this node and descend both sides
-            for (int i=0; i<node.books.size(); i++) result.add(node.books.get(i));
-            searchPrefixRec(node.left, prefix, result);
-            searchPrefixRec(node.right, prefix, result);
-        } else if (prefix.compareTo(node.key) < 0) {
-            searchPrefixRec(node.left, prefix, result);
-        } else {
-            searchPrefixRec(node.right, prefix, result);
+    /**
+     * Lazy iteration over the books whose title starts with prefix, in title order.
+     * Time Complexity: O(log n) to open
+     */
+    public Cursor cursor(String prefix) {
+        return new Cursor(normalize(prefix), null, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Lazy iteration that continues right after the book a previous cursor's
+     * resumeToken() pointed at.
+     * Time Complexity: O(log n) to open
+     *
+     * @param resumeToken Token from Cursor.resumeToken(), or null to start at the beginning
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public Cursor cursor(String prefix, String resumeToken) {
+        if (resumeToken == null) return cursor(prefix);
+
+        int sep = resumeToken.lastIndexOf(TOKEN_SEPARATOR);
+        if (sep < 0) throw new IllegalArgumentException("Invalid resume token: " + resumeToken);
+        int afterId;
+        try {
+            afterId = Integer.parseInt(resumeToken.substring(sep + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid resume token: " + resumeToken);
+        }
+        return new Cursor(normalize(prefix), resumeToken.substring(0, sep), afterId);
+    }
+
+    /**
+     * In-order iterator over one prefix range.
+     *
+     * Keeps the explicit stack of pending ancestors (at most tree height) plus an iterator
+     * over the current node's books, and looks one book ahead so hasNext() is exact.
+     * Fails fast if the tree is modified while it is open; use resumeToken() to continue
+     * with a fresh cursor instead.
+     */
+    public final class Cursor implements Iterator<Book> {
+        private final String prefix;
+        private final Node[] stack = new Node[MAX_HEIGHT];
+        private int top;
+        private final int expectedModCount = modCount;
+
+        // books of the current node, and resume position to skip within the start node
+        private Iterator<Book> current;
+        private String currentKey;
+        private final String skipKey;
+        private final int skipUpToId;
+
+        private Book nextBook;
+        private String nextKey;
+        private Book lastBook;
+        private String lastKey;
+
+        private Cursor(String prefix, String startKey, int skipUpToId) {
+            this.prefix = prefix;
+            this.skipKey = startKey;
+            this.skipUpToId = skipUpToId;
+
+            // Lower bound: first key >= max(prefix, startKey)
+            String from = (startKey != null && startKey.compareTo(prefix) > 0) ? startKey : prefix;
+            Node node = root;
+            while (node != null) {
+                if (node.key.compareTo(from) >= 0) {
+                    stack[top++] = node;
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextBook != null;
         }
+
+        @Override
+        public Book next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (nextBook == null) throw new NoSuchElementException();
+            lastBook = nextBook;
+            lastKey = nextKey;
+            advance();
+            return lastBook;
+        }
+
+        /**
+         * Skip up to n books without returning them.
+         *
+         * @return number of books actually skipped
+         */
+        public int skip(int n) {
+            int skipped = 0;
+            while (skipped < n && hasNext()) {
+                next();
+                skipped++;
+            }
+            return skipped;
+        }
+
+        /**
+         * @return token for cursor(prefix, token) to continue after the last returned book,
+         * or null if next() has not been called yet
+         */
+        public String resumeToken() {
+            if (lastBook == null) return null;
+            return lastKey + TOKEN_SEPARATOR + lastBook.getBookId();
+        }
+
+        private void advance() {
+            nextBook = null;
+            while (true) {
+                if (current != null) {
+                    while (current.hasNext()) {
+                        Book b = current.next();
+                        if (currentKey.equals(skipKey) && b.getBookId() <= skipUpToId) continue;
+                        nextBook = b;
+                        nextKey = currentKey;
+                        return;
+                    }
+                    current = null;
+                }
+                if (top == 0) return;
+
+                Node node = stack[--top];
+                if (!node.key.startsWith(prefix)) {
+                    // Past the prefix range: stop the traversal for good
+                    top = 0;
+                    return;
+                }
+                current = node.books.iterator();
+                currentKey = node.key;
+                for (Node n = node.right; n != null; n = n.left) {
+                    stack[top++] = n;
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep books with the same title in bookId order so (title, bookId) is a stable position.
+     */
+    private void addSorted(MyLinkedList<Book> books, Book b) {
+        int index = 0;
+        for (Book existing : books) {
+            if (existing.getBookId() > b.getBookId()) break;
+            index++;
+        }
+        books.add(index, b);
+    }
+
+    // ---------------- AVL balancing ----------------
+
+    /**
+     * Rebalance path[depth-1] .. path[0] bottom-up and re-link each subtree root to its parent.
+     */
+    private void rebalancePath(Node[] path, int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            Node node = path[i];
+            Node balanced = balance(node);
+            if (balanced == node) continue;
+            if (i == 0) root = balanced;
+            else if (path[i - 1].left == node) path[i - 1].left = balanced;
+            else path[i - 1].right = balanced;
+        }
+    }
+
+    /**
+     * Update node's height and rotate if it is out of balance.
+     *
+     * @return the new root of node's subtree
+     */
+    private Node balance(Node node) {
+        updateHeight(node);
+        int bf = height(node.left) - height(node.right);
+        if (bf > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (bf < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    private int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private void updateHeight(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
     }
 
     private String normalize(String s) {
@@ -1,19 +1,25 @@
-/*
- * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
- * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
- */
-package dataStructure.tree;
-
-public class TreeNode <T extends Comparable<T>>{
-    public T key;
-    public TreeNode<T> left;
-    public TreeNode<T> right;
-
-    public TreeNode(T key) {
-        this.key = key;
-        this.left = null;
-        this.right = null;
-    }
-    
-    
-}
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package dataStructure.tree;
+
+public class TreeNode <T extends Comparable<T>>{
+    public T key;
+    public TreeNode<T> left;
+    public TreeNode<T> right;
+
+    // AVL height and number of nodes in this subtree (order statistics)
+    public int height;
+    public int size;
+
+    public TreeNode(T key) {
+        this.key = key;
+        this.left = null;
+        this.right = null;
+        this.height = 1;
+        this.size = 1;
+    }
+    
+    
+}
@@ -0,0 +1,313 @@
+package dataStructure.trie;
+
+import models.Book;
+import java.util.ArrayList;
+import java.util.List;
+import dataStructure.linkedList.MyLinkedList;
+
+/**
+ * TitleTrie - Compressed (radix) trie over normalized book titles for autocomplete.
+ *
+ * PURPOSE: Answer "most popular completions for this prefix" on every keystroke.
+ * Used in LibrarySystem.suggestTitles.
+ *
+ * DATA STRUCTURE: Radix trie + per-node top-N cache
+ * Why trie: all titles with a prefix live under one node, found in O(prefix length).
+ * Why compressed: a chain of single-child nodes is stored as one edge label, so a catalog of
+ * long titles needs about one node per title instead of one node per character.
+ * Why top-N cache: every node keeps the SUGGESTION_LIMIT most popular books of its subtree,
+ * so a suggestion query never visits the subtree itself.
+ *
+ * COMPLEXITY ANALYSIS (L = title/prefix length, N = SUGGESTION_LIMIT):
+ * - add: O(L + L*N) - walk the title, offer the book to each cache on the path
+ * - remove: O(L * (c + b) * N) - caches on the path containing the book are rebuilt from
+ *   their children's caches (c children, b books with exactly that title)
+ * - popularityIncreased: O(L + L*N)
+ * - suggest: O(L + N) when limit <= N, otherwise O(L + m log m) over the m matches
+ *
+ * CONTRACT: popularity only grows (Book.borrowCopy), so the caches are kept current by
+ * calling popularityIncreased after each increase.
+ */
+public class TitleTrie {
+
+    /**
+     * Number of most popular books cached per node.
+     */
+    public static final int SUGGESTION_LIMIT = 10;
+
+    private static class Node {
+        String label; // edge label from parent (empty for root)
+        Node[] children = new Node[0];
+        MyLinkedList<Book> books = new MyLinkedList<>(); // books whose title ends here
+        Book[] top = new Book[SUGGESTION_LIMIT]; // most popular first
+        int topCount;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Node root = new Node("");
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Time Complexity: O(L * N)
+     */
+    public void add(Book b) {
+        String key = normalize(b.getTitle());
+        ArrayList<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+
+        int i = 0;
+        while (i < key.length()) {
+            Node child = childFor(node, key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                addChild(node, child);
+                i = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+                i += common;
+            }
+            node = child;
+            path.add(node);
+        }
+
+        node.books.add(b);
+        size++;
+        for (Node n : path) offer(n, b);
+    }
+
+    /**
+     * Time Complexity: O(L * (c + b) * N)
+     */
+    public void remove(Book b) {
+        ArrayList<Node> path = findPath(normalize(b.getTitle()));
+        if (path == null) return;
+
+        Node terminal = path.get(path.size() - 1);
+        if (!terminal.books.remove(b)) return;
+        size--;
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (node.books.isEmpty() && node.children.length == 0) {
+                removeChild(path.get(i - 1), node);
+                continue;
+            }
+            if (node.books.isEmpty() && node.children.length == 1) {
+                // Compress the now-redundant node with its only child
+                Node only = node.children[0];
+                node.label = node.label + only.label;
+                node.children = only.children;
+                node.books = only.books;
+                node.top = only.top;
+                node.topCount = only.topCount;
+                continue;
+            }
+            if (inTop(node, b) >= 0) rebuildTop(node);
+        }
+        if (inTop(root, b) >= 0) rebuildTop(root);
+    }
+
+    /**
+     * Book's popularity count grew: move it up, or into, the caches on its title's path.
+     * Time Complexity: O(L * N)
+     */
+    public void popularityIncreased(Book b) {
+        ArrayList<Node> path = findPath(normalize(b.getTitle()));
+        if (path == null) return;
+        for (Node node : path) offer(node, b);
+    }
+
+    /**
+     * Most popular books whose title starts with prefix, most popular first.
+     * Time Complexity: O(L + limit) for limit <= SUGGESTION_LIMIT
+     *
+     * @param prefix Title prefix (case-insensitive)
+     * @param limit Maximum number of books to return
+     */
+    public List<Book> suggest(String prefix, int limit) {
+        List<Book> result = new ArrayList<>();
+        if (limit <= 0) return result;
+
+        Node node = locatePrefix(normalize(prefix));
+        if (node == null) return result;
+
+        if (limit <= SUGGESTION_LIMIT) {
+            for (int i = 0; i < node.topCount && i < limit; i++) result.add(node.top[i]);
+            return result;
+        }
+
+        // Beyond the cached top-N: collect the subtree and rank it
+        collect(node, result);
+        result.sort((x, y) -> ranksAbove(x, y) ? -1 : (ranksAbove(y, x) ? 1 : 0));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    // ---------------- Navigation ----------------
+
+    /**
+     * Nodes from root to the node where key ends exactly, or null if key is not stored.
+     */
+    private ArrayList<Node> findPath(String key) {
+        ArrayList<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = childFor(node, key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) return null;
+            i += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    /**
+     * Highest node whose subtree holds exactly the keys starting with prefix.
+     * The prefix may end inside an edge label.
+     */
+    private Node locatePrefix(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = childFor(node, prefix.charAt(i));
+            if (child == null) return null;
+            int common = commonPrefixLength(child.label, prefix, i);
+            if (i + common == prefix.length()) return child;
+            if (common < child.label.length()) return null;
+            i += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private void collect(Node start, List<Book> out) {
+        ArrayList<Node> stack = new ArrayList<>();
+        stack.add(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            for (Book b : node.books) out.add(b);
+            for (Node child : node.children) stack.add(child);
+        }
+    }
+
+    // ---------------- Structure ----------------
+
+    /**
+     * Insert a node for the first `common` characters of child's label between parent and child.
+     */
+    private Node split(Node parent, Node child, int common) {
+        Node mid = new Node(child.label.substring(0, common));
+        child.label = child.label.substring(common);
+        mid.children = new Node[] { child };
+        // mid's subtree is exactly child's subtree
+        System.arraycopy(child.top, 0, mid.top, 0, child.topCount);
+        mid.topCount = child.topCount;
+        replaceChild(parent, child, mid);
+        return mid;
+    }
+
+    private Node childFor(Node node, char c) {
+        for (Node child : node.children) {
+            if (child.label.charAt(0) == c) return child;
+        }
+        return null;
+    }
+
+    private void addChild(Node node, Node child) {
+        Node[] bigger = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, bigger, 0, node.children.length);
+        bigger[node.children.length] = child;
+        node.children = bigger;
+    }
+
+    private void replaceChild(Node node, Node oldChild, Node newChild) {
+        for (int i = 0; i < node.children.length; i++) {
+            if (node.children[i] == oldChild) node.children[i] = newChild;
+        }
+    }
+
+    private void removeChild(Node node, Node child) {
+        Node[] smaller = new Node[node.children.length - 1];
+        int j = 0;
+        for (Node c : node.children) {
+            if (c != child) smaller[j++] = c;
+        }
+        node.children = smaller;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) i++;
+        return i;
+    }
+
+    // ---------------- Top-N cache ----------------
+
+    /**
+     * b is in node's subtree and may have become more popular: keep node.top sorted.
+     */
+    private void offer(Node node, Book b) {
+        int pos = inTop(node, b);
+        if (pos < 0) {
+            if (node.topCount < SUGGESTION_LIMIT) {
+                pos = node.topCount++;
+            } else if (ranksAbove(b, node.top[SUGGESTION_LIMIT - 1])) {
+                pos = SUGGESTION_LIMIT - 1;
+            } else {
+                return;
+            }
+            node.top[pos] = b;
+        }
+        while (pos > 0 && ranksAbove(b, node.top[pos - 1])) {
+            node.top[pos] = node.top[pos - 1];
+            pos--;
+        }
+        node.top[pos] = b;
+    }
+
+    /**
+     * Recompute node.top from its own books and its children's caches.
+     */
+    private void rebuildTop(Node node) {
+        node.top = new Book[SUGGESTION_LIMIT];
+        node.topCount = 0;
+        for (Book b : node.books) offer(node, b);
+        for (Node child : node.children) {
+            for (int i = 0; i < child.topCount; i++) offer(node, child.top[i]);
+        }
+    }
+
+    private int inTop(Node node, Book b) {
+        for (int i = 0; i < node.topCount; i++) {
+            if (node.top[i] == b) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Higher popularity first, ties broken by lower book ID.
+     */
+    private static boolean ranksAbove(Book a, Book b) {
+        if (a.getPopularityCount() != b.getPopularityCount()) {
+            return a.getPopularityCount() > b.getPopularityCount();
+        }
+        return a.getBookId() < b.getBookId();
+    }
+
+    private String normalize(String s) {
+        return s == null ? "" : s.toLowerCase().trim();
+    }
+}
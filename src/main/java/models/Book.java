@@ -1,5 +1,6 @@
 package models;
 
+import core.LibrarySystem;
 import dataStructure.queue.MyQueue;
 
 /**
@@ -8,6 +9,7 @@ import dataStructure.queue.MyQueue;
  * DATA STRUCTURE USAGE:
  * - MyQueue<Member> waitList: Used for managing waitlist (FIFO - First Come First Served)
  *   This ensures fair distribution when books become available.
+ *   The queue keeps a membership index, so a member can be on the waitlist only once.
  * 
  * COMPLEXITY:
  * - Waitlist operations: O(1) enqueue/dequeue
@@ -67,7 +69,7 @@ public class Book implements Comparable<Book> {
 
         this.borrowedCopies = 0;
         this.popularityCount = 0;
-        this.waitList = new MyQueue<>();
+        this.waitList = new MyQueue<>(true, LibrarySystem.STUDENT_ID);
     }
 
     // --- Eğer eski constructor'ı da istersen (ID elle verilen) ---
@@ -90,7 +92,7 @@ public class Book implements Comparable<Book> {
 
         this.borrowedCopies = 0;
         this.popularityCount = 0;
-        this.waitList = new MyQueue<>();
+        this.waitList = new MyQueue<>(true, LibrarySystem.STUDENT_ID);
     }
 
     // --- Getters ---
@@ -136,9 +138,11 @@ public class Book implements Comparable<Book> {
      * Time Complexity: O(1)
      * 
      * @param m Member to add to waitlist
+     * @return true if added, false if m is null or already waiting for this book
      */
-    public void addToWaitList(Member m) {
-        if (m != null) waitList.enqueue(m);
+    public boolean addToWaitList(Member m) {
+        if (m == null) return false;
+        return waitList.enqueue(m);
     }
 
     /**
@@ -158,6 +162,46 @@ public class Book implements Comparable<Book> {
 
     public MyQueue<Member> getWaitList() { return waitList; }
 
+    /**
+     * Canonical form of an ISBN, used as the key of the ISBN index.
+     * Time Complexity: O(length)
+     *
+     * Keeps letters and digits only (hyphens, spaces dropped), uppercases, strips a leading
+     * "ISBN" label, and converts a 10-digit ISBN to its ISBN-13 ("978" + 9 digits + new
+     * check digit), so "0-306-40615-2", "isbn 0306406152" and "978-0-306-40615-7" are equal.
+     *
+     * @return normalized ISBN, or null if nothing is left
+     */
+    public static String normalizeIsbn(String isbn) {
+        if (isbn == null) return null;
+        StringBuilder sb = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (Character.isLetterOrDigit(c)) sb.append(Character.toUpperCase(c));
+        }
+        String s = sb.toString();
+        if (s.startsWith("ISBN")) s = s.substring(4);
+        if (s.isEmpty()) return null;
+
+        if (s.length() == 10 && isDigits(s, 9) && (Character.isDigit(s.charAt(9)) || s.charAt(9) == 'X')) {
+            String body = "978" + s.substring(0, 9);
+            int sum = 0;
+            for (int i = 0; i < 12; i++) {
+                sum += (body.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+            }
+            s = body + ((10 - sum % 10) % 10);
+        }
+        return s;
+    }
+
+    private static boolean isDigits(String s, int count) {
+        for (int i = 0; i < count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
     // --- Search helper ---
     public boolean matches(String query) {
         if (query == null) return false;
@@ -2,6 +2,8 @@ package models;
 
 import dataStructure.linkedList.MyLinkedList;
 
+import java.util.Iterator;
+
 /**
  * Member model class representing a library member.
  * 
@@ -42,6 +44,15 @@ public class Member {
     // ❗ Eksik olan ceza alanı eklendi
     private double penalty = 0.0;
 
+    /**
+     * Notified after setName, so an owner indexing members by name can re-index.
+     */
+    public interface NameListener {
+        void nameChanged(Member member, String oldName);
+    }
+
+    private NameListener nameListener;
+
     public Member(int memberID, String name) {
         this.memberID = memberID;
         this.name = name;
@@ -58,7 +69,20 @@ public class Member {
     }
 
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        if (nameListener != null) nameListener.nameChanged(this, oldName);
+    }
+
+    /**
+     * Set by LibrarySystem while the member is registered (null to detach).
+     */
+    public void setNameListener(NameListener listener) {
+        this.nameListener = listener;
+    }
+
+    public NameListener getNameListener() {
+        return nameListener;
     }
 
     public MyLinkedList<Book> getActiveBooks() {
@@ -95,31 +119,30 @@ public class Member {
     // ------------------ RETURN ------------------
 
     public void returnBook(Book book) {
-        if (!hasBook(book)) return;
-
-        for (int i = 0; i < activeBooks.size(); i++) {
-            if (activeBooks.get(i).equals(book)) {
-                activeBooks.removeByIndex(i);
-                break;
-            }
-        }
+        removeActiveBook(book);
     }
 
     // Undo system için gerekli
     public void removeActiveLoanRecord(LoanRecord lr) {
-        Book b = lr.getBook();
+        removeActiveBook(lr.getBook());
+    }
 
-        for (int i = 0; i < activeBooks.size(); i++) {
-            if (activeBooks.get(i).equals(b)) {
-                activeBooks.removeByIndex(i);
-                break;
+    /**
+     * Remove the first matching active book in a single pass (O(1) unlink via iterator).
+     */
+    private void removeActiveBook(Book book) {
+        Iterator<Book> it = activeBooks.iterator();
+        while (it.hasNext()) {
+            if (it.next().equals(book)) {
+                it.remove();
+                return;
             }
         }
     }
 
     public boolean hasBook(Book book) {
-        for (int i = 0; i < activeBooks.size(); i++) {
-            if (activeBooks.get(i).equals(book)) return true;
+        for (Book b : activeBooks) {
+            if (b.equals(book)) return true;
         }
         return false;
     }
@@ -1,9 +1,12 @@
 package ui;
 
 import core.LibrarySystem;
+import core.BookQuery;
+import core.Page;
 import models.Book;
 import models.Member;
 import models.LoanRecord;
+import dataStructure.index.FacetIndex;
 import dataStructure.linkedList.MyLinkedList;
 import dataStructure.queue.MyQueue;
 
@@ -27,6 +30,9 @@ public class Main {
     
     private static final LibrarySystem library = new LibrarySystem();
 
+    // Rows shown per page of search results and book listings
+    private static final int PAGE_SIZE = 20;
+
     public static void main(String[] args) {
         System.out.println("Welcome to the Library Management System");
         
@@ -107,6 +113,7 @@ public class Main {
             System.out.println("5. Show Book Waitlist");
             System.out.println("6. Search Books");
             System.out.println("7. Show Most Popular Books");
+            System.out.println("8. Browse by Category");
             System.out.println("0. Back");
             int choice = readInt("Choice: ");
 
@@ -118,6 +125,7 @@ public class Main {
                 case 5 -> showWaitlist();
                 case 6 -> searchBooks();
                 case 7 -> showMostPopularBooks();
+                case 8 -> browseByCategory();
                 case 0 -> stay = false;
                 default -> System.out.println("Invalid choice.");
             }
@@ -176,12 +184,19 @@ public class Main {
         // ISBN auto-generate if empty
         String isbn = readString("Enter ISBN (or press Enter to auto-generate): ").trim();
         if (isbn.isEmpty()) {
-            isbn = "ISBN-" + (100000 + rng.nextInt(900000));
+            do {
+                isbn = "ISBN-" + (100000 + rng.nextInt(900000));
+            } while (library.containsIsbn(isbn));
         }
 
         Book b = new Book(isbn, title, author, category, year, pageCount, copies);
 
-        library.addBook(b);
+        if (!library.addBook(b)) {
+            Book existing = library.searchByIsbn(isbn);
+            System.out.println("A book with this ISBN already exists"
+                    + (existing != null ? " (ID: " + existing.getBookId() + ", " + existing.getTitle() + ")." : "."));
+            return;
+        }
         System.out.println("Book added: " + b);
     }
 
@@ -220,8 +235,8 @@ public class Main {
         }
 
         System.out.println("\n--- Loan History for " + m.getName() + " ---");
-        for (int i = 0; i < history.size(); i++) {
-            System.out.println(history.get(i));
+        for (LoanRecord record : history) {
+            System.out.println(record);
         }
     }
 
@@ -238,8 +253,7 @@ public class Main {
             return;
         }
         System.out.println("\n--- Active Loans: " + m.getName() + " ---");
-        for (int i = 0; i < active.size(); i++) {
-            Book b = active.get(i);
+        for (Book b : active) {
             System.out.println("ID: " + b.getBookId() + " | " + b.getTitle() + " | " + b.getAuthor());
         }
     }
@@ -258,21 +272,16 @@ public class Main {
             }
             System.out.println("ID: " + m.getMemberID() + " | Ad: " + m.getName() + " | Aktif: " + m.getActiveBooks().size());
         } else if (c == 2) {
-            String query = readString("Name (partial accepted): ").trim().toLowerCase();
+            String query = readString("Name (start of first/last name accepted): ").trim();
             if (query.isEmpty()) {
                 System.out.println("Name cannot be empty.");
                 return;
             }
-            MyLinkedList<Member> members = library.listAllMembers();
-            boolean found = false;
-            for (int i = 0; i < members.size(); i++) {
-                Member m = members.get(i);
-                if (m != null && m.getName() != null && m.getName().toLowerCase().contains(query)) {
-                    System.out.println("ID: " + m.getMemberID() + " | Ad: " + m.getName() + " | Aktif: " + m.getActiveBooks().size());
-                    found = true;
-                }
+            List<Member> members = library.searchMembersByName(query);
+            for (Member m : members) {
+                System.out.println("ID: " + m.getMemberID() + " | Ad: " + m.getName() + " | Aktif: " + m.getActiveBooks().size());
             }
-            if (!found) System.out.println("No matching member.");
+            if (members.isEmpty()) System.out.println("No matching member.");
         } else {
             System.out.println("Invalid choice.");
         }
@@ -309,17 +318,10 @@ public class Main {
             return;
         }
 
-        // Safely print waitlist without losing it by using a temporary queue
-        MyQueue<Member> temp = new MyQueue<>();
+        // Iterate front to back without dequeuing
         System.out.println("\n--- WAITLIST for \"" + b.getTitle() + "\" ---");
-        while (!wait.isEmpty()) {
-            Member m = wait.dequeue();
+        for (Member m : wait) {
             System.out.println("MemberID: " + m.getMemberID() + " | Name: " + m.getName());
-            temp.enqueue(m);
-        }
-        // restore
-        while (!temp.isEmpty()) {
-            wait.enqueue(temp.dequeue());
         }
     }
 
@@ -328,7 +330,14 @@ public class Main {
         System.out.println("1. Search by Title");
         System.out.println("2. Search by Author");
         System.out.println("3. Search by Any Field (title/author/isbn/category)");
+        System.out.println("4. Title Suggestions (most popular first)");
+        System.out.println("5. Combined Filter (author/category/years/available)");
+        System.out.println("6. Ranked Search (best matches first)");
         int c = readInt("Select: ");
+        if (c == 5) {
+            filterBooks();
+            return;
+        }
 
         String query = readString("Enter search text: ").trim();
         if (query.isEmpty()) {
@@ -338,28 +347,107 @@ public class Main {
         String q = query.toLowerCase();
 
         switch (c) {
-            case 1 -> {
-                List<Book> res = library.searchByTitle(q);
-                showSearchResults(res);
-            }
+            case 1 -> showTitleSearchPages(q);
             case 2 -> {
                 List<Book> res = library.searchByAuthor(q);
+                if (res.isEmpty()) res = showCloseMatches(library.fuzzySearchByAuthor(q));
                 showSearchResults(res);
             }
             case 3 -> {
-                // fallback: scan all books and use matches()
-                MyLinkedList<Book> all = library.listAllBooks();
-                List<Book> results = new ArrayList<>();
-                for (int i = 0; i < all.size(); i++) {
-                    Book b = all.get(i);
-                    if (b != null && b.matches(q)) results.add(b);
-                }
-                showSearchResults(results);
+                List<Book> res = library.searchAnyField(q);
+                showSearchResults(res);
             }
+            case 4 -> {
+                List<Book> res = library.suggestTitles(q, 10);
+                showSearchResults(res);
+            }
+            case 6 -> showRankedPages(q);
             default -> System.out.println("Invalid choice.");
         }
     }
 
+    /**
+     * Builds an AND of the filled-in criteria; empty answers are left out of the query.
+     */
+    private static void filterBooks() {
+        List<BookQuery> parts = new ArrayList<>();
+        String author = readString("Author (Enter to skip): ").trim();
+        if (!author.isEmpty()) parts.add(BookQuery.author(author));
+        String category = readString("Category (Enter to skip): ").trim();
+        if (!category.isEmpty()) parts.add(BookQuery.category(category));
+        String text = readString("Any field contains (Enter to skip): ").trim();
+        if (!text.isEmpty()) parts.add(BookQuery.contains(text));
+        String years = readString("Year range, e.g. 1990-2000 (Enter to skip): ").trim();
+        if (!years.isEmpty()) {
+            String[] bounds = years.split("-");
+            Integer from = bounds.length == 2 ? parseIntValue(bounds[0].trim()) : null;
+            Integer to = bounds.length == 2 ? parseIntValue(bounds[1].trim()) : null;
+            if (from == null || to == null) {
+                System.out.println("Invalid year range.");
+                return;
+            }
+            parts.add(BookQuery.yearBetween(from, to));
+        }
+        if (readString("Only available books? (y/n): ").trim().equalsIgnoreCase("y")) {
+            parts.add(BookQuery.available());
+        }
+        if (parts.isEmpty()) {
+            System.out.println("No criteria given.");
+            return;
+        }
+
+        BookQuery query = BookQuery.and(parts.toArray(new BookQuery[0]));
+        showSearchResults(library.search(query));
+        if (readString("Show query plan? (y/n): ").trim().equalsIgnoreCase("y")) {
+            System.out.println(library.explain(query));
+        }
+    }
+
+    /**
+     * Title search, PAGE_SIZE rows at a time; the next page resumes from the last row.
+     */
+    private static void showTitleSearchPages(String prefix) {
+        String token = null;
+        while (true) {
+            Page<Book> page = library.searchByTitle(prefix, 0, PAGE_SIZE, token);
+            if (token == null && page.getItems().isEmpty()) {
+                showSearchResults(showCloseMatches(library.fuzzySearchByTitle(prefix)));
+                return;
+            }
+            showSearchResults(page.getItems());
+            if (!page.hasMore()) return;
+            String more = readString("More results? (y/n): ").trim();
+            if (!more.equalsIgnoreCase("y")) return;
+            token = page.getNextToken();
+        }
+    }
+
+    /**
+     * Ranked search, PAGE_SIZE rows at a time: each page asks for the next PAGE_SIZE best
+     * matches, so the first page never waits for the full result.
+     */
+    private static void showRankedPages(String query) {
+        int shown = 0;
+        while (true) {
+            List<Book> top = library.searchRanked(query, shown + PAGE_SIZE);
+            if (shown == 0 || shown < top.size()) {
+                showSearchResults(top.subList(shown, top.size()));
+            }
+            if (top.size() < shown + PAGE_SIZE) return;
+            shown = top.size();
+            String more = readString("More results? (y/n): ").trim();
+            if (!more.equalsIgnoreCase("y")) return;
+        }
+    }
+
+    /**
+     * Announces typo-tolerant results when the exact search found nothing.
+     */
+    private static List<Book> showCloseMatches(List<Book> fuzzy) {
+        if (!fuzzy.isEmpty()) System.out.println("No exact matches. Did you mean:");
+        return fuzzy.size() > PAGE_SIZE ? fuzzy.subList(0, PAGE_SIZE) : fuzzy;
+    }
+
     private static void showSearchResults(List<Book> results) {
         if (results == null || results.isEmpty()) {
             System.out.println("No books found.");
@@ -392,6 +480,22 @@ public class Main {
         }
     }
 
+    private static void browseByCategory() {
+        List<FacetIndex.FacetCount> counts = library.getCategoryCounts();
+        if (counts.isEmpty()) {
+            System.out.println("No books.");
+            return;
+        }
+        System.out.println("\n--- CATEGORIES ---");
+        for (FacetIndex.FacetCount fc : counts) {
+            System.out.println(fc.getValue() + " (" + fc.getCount() + ")");
+        }
+
+        String category = readString("Enter category (or press Enter to go back): ").trim();
+        if (category.isEmpty()) return;
+        showSearchResults(library.searchByCategory(category));
+    }
+
     private static void showMostPopularBooks() {
         int k = readInt("How many popular books to show? ");
         if (k <= 0) {
@@ -431,22 +535,30 @@ public class Main {
             return;
         }
         System.out.println("\n--- MEMBERS ---");
-        for (int i = 0; i < members.size(); i++) {
-            Member m = members.get(i);
+        for (Member m : members) {
             System.out.println("ID: " + m.getMemberID() + " | Name: " + m.getName() + " | Active: " + m.getActiveBooks().size());
         }
     }
 
     private static void listAllBooks() {
-        MyLinkedList<Book> books = library.listAllBooks();
-        if (books == null || books.size() == 0) {
+        int pages = library.getBookPageCount(PAGE_SIZE);
+        if (pages == 0) {
             System.out.println("No books.");
             return;
         }
-        System.out.println("\n--- BOOKS ---");
-        for (int i = 0; i < books.size(); i++) {
-            Book b = books.get(i);
-            System.out.println("ID: " + b.getBookId() + " | Title: " + b.getTitle() + " | Available: " + b.getAvailableCopies());
+        System.out.println("1. Sort by Title");
+        System.out.println("2. Sort by ID");
+        LibrarySystem.BookOrder order = readInt("Select: ") == 2
+                ? LibrarySystem.BookOrder.BY_ID : LibrarySystem.BookOrder.BY_TITLE;
+
+        int page = 1;
+        while (page >= 1 && page <= pages) {
+            System.out.println("\n--- BOOKS (page " + page + "/" + pages + ") ---");
+            for (Book b : library.listBooksPage(order, page, PAGE_SIZE)) {
+                System.out.println("ID: " + b.getBookId() + " | Title: " + b.getTitle() + " | Available: " + b.getAvailableCopies());
+            }
+            if (pages == 1) return;
+            page = readInt("Go to page (0 to stop): ");
         }
     }
 
@@ -538,7 +650,8 @@ public class Main {
             "Elif Gülseren", "Selin Kılıç"
         };
 
-        // Add books using STUDENT_ID seeded random
+        // Add books using STUDENT_ID seeded random (collected first so the library sizes its tables once)
+        List<Book> sampleBooks = new ArrayList<>(numBooks);
         for (int i = 0; i < numBooks; i++) {
             int titleIndex = (i + studentIdMod) % bookTitles.length;
             // Keep author aligned with title using the same index
@@ -556,17 +669,20 @@ public class Main {
             int copies = 1 + (LibrarySystem.STUDENT_ID % 3); // 1-3 copies
             
             Book book = new Book(isbn, title, author, category, publishYear, pageCount, copies);
-            library.addBook(book);
+            sampleBooks.add(book);
             System.out.println("Added book: " + title + " by " + author);
         }
+        library.addBooks(sampleBooks);
 
         // Add members using STUDENT_ID seeded random
+        List<Member> sampleMembers = new ArrayList<>(numMembers);
         for (int i = 0; i < numMembers; i++) {
             int nameIndex = (i + studentIdMod * 3) % memberNames.length;
             Member member = new Member(generateMemberId(), memberNames[nameIndex]);
-            library.addMember(member);
+            sampleMembers.add(member);
             System.out.println("Added member: " + memberNames[nameIndex] + " (ID: " + member.getMemberID() + ")");
         }
+        library.addMembers(sampleMembers);
 
         System.out.println("\n=== Sample Data Initialization Complete ===\n");
     }
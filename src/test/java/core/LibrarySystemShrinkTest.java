@@ -0,0 +1,59 @@
+package core;
+
+import models.Book;
+import models.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ID tables shrink back after mass removeBook / removeMember.
+ */
+class LibrarySystemShrinkTest {
+
+    private static final int BOOKS = 20_000;
+    private static final int MEMBERS = 5_000;
+    private static final int KEPT = 100;
+
+    @Test
+    void idTablesShrinkAfterMassRemoval() {
+        LibrarySystem library = new LibrarySystem();
+        List<Book> books = new ArrayList<>();
+        for (int id = 1; id <= BOOKS; id++) {
+            books.add(new Book(id, String.format("978%010d", id), "Title " + id, "Author " + (id % 100),
+                    "Category " + (id % 7), 1950 + id % 70, 100 + id % 400, 1));
+        }
+        library.addBooks(books);
+        for (int id = 1; id <= MEMBERS; id++) {
+            library.addMember(new Member(id, "Member " + id));
+        }
+        int peakBooks = library.bookTableCapacity();
+        int peakMembers = library.memberTableCapacity();
+
+        for (int id = KEPT + 1; id <= BOOKS; id++) {
+            assertNotNull(library.removeBook(id));
+        }
+        for (int id = KEPT + 1; id <= MEMBERS; id++) {
+            assertNotNull(library.removeMember(id));
+        }
+
+        assertTrue(library.bookTableCapacity() < peakBooks / 16,
+                "bookTable capacity " + library.bookTableCapacity() + " after shrink, peak " + peakBooks);
+        assertTrue(library.memberTableCapacity() < peakMembers / 8,
+                "memberTable capacity " + library.memberTableCapacity() + " after shrink, peak " + peakMembers);
+
+        // The survivors are still reachable after the shrink migrated them
+        for (int id = 1; id <= KEPT; id++) {
+            assertEquals(id, library.searchById(id).getBookId());
+            assertEquals(id, library.getMember(id).getMemberID());
+        }
+        assertNull(library.searchById(KEPT + 1));
+        assertNull(library.getMember(KEPT + 1));
+    }
+}